@@ -0,0 +1,96 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import state.BitboardState;
+import state.BoardState;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the primitive methods of {@link BitboardState} over the same corpus
+ * of states as {@link BoardStateBenchmark}, so the two engines can be compared.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BitboardStateBenchmark {
+
+    /**
+     * The seed from which the corpus is generated.
+     */
+    @Param({"20220601", "42"})
+    public long seed;
+
+    private BitboardState[] states;
+
+    private final int[] moves = new int[BitboardState.MAX_MOVES];
+
+    /**
+     * Generates the corpus.
+     */
+    @Setup
+    public void setUp() {
+        BoardState[] corpus = PositionCorpus.generate(seed);
+        states = new BitboardState[corpus.length];
+        for (int i = 0; i < corpus.length; i++) {
+            states[i] = new BitboardState(corpus[i]);
+        }
+    }
+
+    /**
+     * Measures {@link BitboardState#generateMoves(int[])}.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void generateMoves(Blackhole blackhole) {
+        for (var state : states) {
+            blackhole.consume(state.generateMoves(moves));
+        }
+    }
+
+    /**
+     * Measures {@link BitboardState#makeMove(int)} and {@link BitboardState#unmakeMove(int)}
+     * of every move that can be made.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void makeAndUnmakeMoves(Blackhole blackhole) {
+        for (var state : states) {
+            int count = state.generateMoves(moves);
+            for (int i = 0; i < count; i++) {
+                state.makeMove(moves[i]);
+                blackhole.consume(state.isGoal());
+                state.unmakeMove(moves[i]);
+            }
+        }
+    }
+
+    /**
+     * Measures {@link BitboardState#isGoal()}.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void isGoal(Blackhole blackhole) {
+        for (var state : states) {
+            blackhole.consume(state.isGoal());
+        }
+    }
+}
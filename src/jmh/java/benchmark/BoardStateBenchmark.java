@@ -0,0 +1,226 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import state.BoardState;
+import state.Direction;
+import state.Position;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the methods of {@link BoardState} over a corpus of states.
+ * Every benchmark method processes each state of the corpus once, and the
+ * results are reported per state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardStateBenchmark {
+
+    /**
+     * The seed from which the corpus is generated.
+     */
+    @Param({"20220601", "42"})
+    public long seed;
+
+    private BoardState[] states;
+
+    private BoardState[] copies;
+
+    private int[] movableIndices;
+
+    private Direction[] movableDirections;
+
+    private Position[] occupiedPositions;
+
+    /**
+     * Generates the corpus and the moves that can be made in its states.
+     */
+    @Setup
+    public void setUp() {
+        states = PositionCorpus.generate(seed);
+        copies = PositionCorpus.generate(seed);
+        movableIndices = new int[states.length];
+        movableDirections = new Direction[states.length];
+        occupiedPositions = new Position[states.length];
+        for (int s = 0; s < states.length; s++) {
+            BoardState state = states[s];
+            occupiedPositions[s] = state.getPiece(s % state.getNumberOfPieces()).getPosition();
+            for (int i = 0; i < state.getNumberOfPieces(); i++) {
+                for (var direction : Direction.values()) {
+                    if (state.canMove(i, direction)) {
+                        movableIndices[s] = i;
+                        movableDirections[s] = direction;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#clone()}.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void cloneState(Blackhole blackhole) {
+        for (var state : states) {
+            blackhole.consume(state.clone());
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#canMove(int, Direction)} with a legal move.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void canMove(Blackhole blackhole) {
+        for (int s = 0; s < states.length; s++) {
+            blackhole.consume(states[s].canMove(movableIndices[s], movableDirections[s]));
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#clone()} followed by {@link BoardState#move(int, Direction)},
+     * the way the game controller makes a move.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void cloneAndMove(Blackhole blackhole) {
+        for (int s = 0; s < states.length; s++) {
+            BoardState copy = states[s].clone();
+            copy.move(movableIndices[s], movableDirections[s]);
+            blackhole.consume(copy);
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#makeMove(int, Direction)} followed by
+     * {@link BoardState#unmakeMove(int)}, which replaces the copy of the state.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void makeAndUnmakeMove(Blackhole blackhole) {
+        for (int s = 0; s < states.length; s++) {
+            int undo = states[s].makeMove(movableIndices[s], movableDirections[s]);
+            blackhole.consume(states[s].getZobristKey());
+            states[s].unmakeMove(undo);
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#getPossibleMoves(int)} for every piece.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void getPossibleMoves(Blackhole blackhole) {
+        for (var state : states) {
+            for (int i = 0; i < state.getNumberOfPieces(); i++) {
+                blackhole.consume(state.getPossibleMoves(i));
+            }
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#foxWins()}.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void foxWins(Blackhole blackhole) {
+        for (var state : states) {
+            blackhole.consume(state.foxWins());
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#dogWins()}.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void dogWins(Blackhole blackhole) {
+        for (var state : states) {
+            blackhole.consume(state.dogWins());
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#isGoal()}.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void isGoal(Blackhole blackhole) {
+        for (var state : states) {
+            blackhole.consume(state.isGoal());
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#getPieceIndexByPosition(Position)} with occupied positions.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void getPieceIndexByPosition(Blackhole blackhole) {
+        for (int s = 0; s < states.length; s++) {
+            blackhole.consume(states[s].getPieceIndexByPosition(occupiedPositions[s]));
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#equals(Object)} with equal states.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void equalsState(Blackhole blackhole) {
+        for (int s = 0; s < states.length; s++) {
+            blackhole.consume(states[s].equals(copies[s]));
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#hashCode()}.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void hashCodeState(Blackhole blackhole) {
+        for (var state : states) {
+            blackhole.consume(state.hashCode());
+        }
+    }
+
+    /**
+     * Measures {@link BoardState#toString()}.
+     * @param blackhole The blackhole consuming the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PositionCorpus.SIZE)
+    public void toStringState(Blackhole blackhole) {
+        for (var state : states) {
+            blackhole.consume(state.toString());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import state.BoardState;
+import state.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible sets of states for the benchmarks. The states are
+ * collected from random games played from the initial state, where the
+ * random moves are chosen with a generator initialized by a fixed seed.
+ */
+public final class PositionCorpus {
+
+    /**
+     * The number of states in a corpus.
+     */
+    public static final int SIZE = 1024;
+
+    private PositionCorpus() {
+    }
+
+    /**
+     * Returns {@value #SIZE} states that are not goal states and in which the side
+     * to move has a legal move, generated from the given seed.
+     * @param seed The seed of the random generator.
+     * @return The states of the corpus.
+     */
+    public static BoardState[] generate(long seed) {
+        Random random = new Random(seed);
+        List<BoardState> states = new ArrayList<>(SIZE);
+        while (states.size() < SIZE) {
+            BoardState state = new BoardState();
+            while (!state.isGoal() && states.size() < SIZE) {
+                List<int[]> moves = new ArrayList<>();
+                for (int i = 0; i < state.getNumberOfPieces(); i++) {
+                    for (var direction : Direction.values()) {
+                        if (state.canMove(i, direction)) {
+                            moves.add(new int[] {i, direction.ordinal()});
+                        }
+                    }
+                }
+                if (moves.isEmpty()) {
+                    break;
+                }
+                states.add(state.clone());
+                int[] move = moves.get(random.nextInt(moves.size()));
+                state.move(move[0], Direction.values()[move[1]]);
+            }
+        }
+        return states.toArray(new BoardState[0]);
+    }
+}
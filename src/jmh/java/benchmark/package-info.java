@@ -0,0 +1,4 @@
+/**
+ * Contains the JMH microbenchmarks of the Fox Catcher Game.
+ */
+package benchmark;
@@ -0,0 +1,383 @@
+package ai;
+
+import org.tinylog.Logger;
+import state.BitboardState;
+import state.BoardState;
+import state.GameState;
+import state.Move;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a computer player which searches the game tree with negamax
+ * alpha-beta search and iterative deepening under a time budget per move.
+ * <p>
+ * The search runs on a {@link BitboardState} copy of the given state with
+ * make/unmake moves, so no objects are created in the tree. The moves are
+ * ordered by the move stored in the {@link TranspositionTable}, then the two
+ * killer moves of the ply and then the history heuristic. The states are stored
+ * in the table under their canonical keys, so a state and its mirror image share
+ * an entry, and the stored moves are mirrored back when the mirror image
+ * is searched. The values are
+ * given from the point of view of the side to move; a won game is worth
+ * {@link #WIN} minus the number of plies needed to win it.
+ */
+public class AlphaBetaPlayer implements ComputerPlayer {
+
+    /**
+     * The value of a game won at the root of the search.
+     */
+    public static final int WIN = 30000;
+
+    /**
+     * The maximal number of plies the search can reach.
+     */
+    public static final int MAX_PLY = 128;
+
+    /**
+     * The default number of entries of the transposition table.
+     */
+    public static final int DEFAULT_TABLE_CAPACITY = 1 << 20;
+
+    private static final int WIN_THRESHOLD = WIN - MAX_PLY;
+
+    private static final int INFINITY = WIN + 1;
+
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private static final int TABLE_MOVE_SCORE = 1 << 30;
+
+    private static final int KILLER_MOVE_SCORE = 1 << 29;
+
+    private static final int MOVE_RANGE = 1 << 12;
+
+    private final TranspositionTable table;
+
+    private final long timeBudgetNanos;
+
+    private final int maxDepth;
+
+    /**
+     * The number of plies added to the depth of every iteration, which makes
+     * the helper threads of a parallel search search other depths than the main thread.
+     */
+    private final int depthOffset;
+
+    private final int[][] moves = new int[MAX_PLY][BitboardState.MAX_MOVES];
+
+    private final int[][] scores = new int[MAX_PLY][BitboardState.MAX_MOVES];
+
+    private final int[][] killers = new int[MAX_PLY][2];
+
+    private final int[][] history = new int[2][MOVE_RANGE];
+
+    private long nodes;
+
+    private long deadline;
+
+    private boolean stopped;
+
+    private boolean canStop;
+
+    private AtomicBoolean stopSignal;
+
+    private int rootBestMove;
+
+    /**
+     * Creates an {@code AlphaBetaPlayer} object with a transposition table of
+     * {@link #DEFAULT_TABLE_CAPACITY} entries and no depth limit.
+     * @param timeBudgetMillis The time budget of a move in milliseconds.
+     */
+    public AlphaBetaPlayer(long timeBudgetMillis) {
+        this(new TranspositionTable(DEFAULT_TABLE_CAPACITY), timeBudgetMillis, MAX_PLY - 1);
+    }
+
+    /**
+     * Creates an {@code AlphaBetaPlayer} object.
+     * @param table The transposition table used by the search.
+     * @param timeBudgetMillis The time budget of a move in milliseconds.
+     * The first iteration of the search is always completed.
+     * @param maxDepth The depth at which the iterative deepening stops.
+     * @throws IllegalArgumentException If the time budget is negative, or the
+     * depth is not between 1 and {@code MAX_PLY - 1}.
+     */
+    public AlphaBetaPlayer(TranspositionTable table, long timeBudgetMillis, int maxDepth) {
+        this(table, timeBudgetMillis, maxDepth, 0);
+    }
+
+    AlphaBetaPlayer(TranspositionTable table, long timeBudgetMillis, int maxDepth, int depthOffset) {
+        if (timeBudgetMillis < 0 || maxDepth < 1 || maxDepth >= MAX_PLY) {
+            throw new IllegalArgumentException();
+        }
+        this.table = table;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.maxDepth = maxDepth;
+        this.depthOffset = depthOffset;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException If the state does not have exactly one fox
+     * and four dogs.
+     */
+    @Override
+    public SearchResult search(GameState state) {
+        table.newSearch();
+        return search(toBitboardState(state), System.nanoTime(), new AtomicBoolean());
+    }
+
+    /**
+     * Returns a {@code BitboardState} copy of the given state, which can be modified by the search.
+     * @param state The state to be copied.
+     * @return The copy of the state.
+     */
+    static BitboardState toBitboardState(GameState state) {
+        return state instanceof BitboardState bitboardState
+                ? bitboardState.clone() : new BitboardState(state);
+    }
+
+    /**
+     * Searches the given state, which is modified during the search and restored at its end.
+     * @param root The state to be searched.
+     * @param start The time the search started at, given by {@link System#nanoTime()}.
+     * @param stopSignal The signal which stops the search when it is set, even before the
+     * first iteration is completed.
+     * @return The result of the search.
+     */
+    SearchResult search(BitboardState root, long start, AtomicBoolean stopSignal) {
+        deadline = start + timeBudgetNanos;
+        this.stopSignal = stopSignal;
+        nodes = 0;
+        stopped = false;
+        canStop = false;
+        prepareHeuristics();
+        int bestMove = Move.NONE;
+        int value = 0;
+        int depth = 0;
+        while (depth < maxDepth) {
+            int iterationDepth = Math.min(depth + 1 + depthOffset, maxDepth);
+            rootBestMove = Move.NONE;
+            int iterationValue = negamax(root, iterationDepth, 0, -INFINITY, INFINITY);
+            if (stopped) {
+                break;
+            }
+            depth = iterationDepth;
+            bestMove = rootBestMove;
+            value = iterationValue;
+            canStop = true;
+            Logger.debug("Depth {}: {} with value {}, {} nodes", depth,
+                    bestMove == Move.NONE ? "none" : Move.toString(bestMove), value, nodes);
+            if (bestMove == Move.NONE || Math.abs(value) >= WIN_THRESHOLD) {
+                break;
+            }
+        }
+        return new SearchResult(bestMove, value, depth, nodes, System.nanoTime() - start);
+    }
+
+    private void prepareHeuristics() {
+        for (int[] killer : killers) {
+            killer[0] = Move.NONE;
+            killer[1] = Move.NONE;
+        }
+        for (int[] sideHistory : history) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] >>= 1;
+            }
+        }
+    }
+
+    private int negamax(BitboardState state, int depth, int ply, int alpha, int beta) {
+        nodes++;
+        if ((nodes % TIME_CHECK_INTERVAL) == 0
+                && ((canStop && System.nanoTime() - deadline > 0) || stopSignal.get())) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+        if (state.foxWins()) {
+            return state.isFoxToMove() ? WIN - ply : ply - WIN;
+        }
+        if (state.dogWins()) {
+            return state.isFoxToMove() ? ply - WIN : WIN - ply;
+        }
+        int[] plyMoves = moves[ply];
+        int count = state.generateMoves(plyMoves);
+        if (count == 0) {
+            return ply - WIN;
+        }
+        if (depth == 0 || ply == MAX_PLY - 1) {
+            return evaluate(state);
+        }
+        long key = state.getZobristKey();
+        long mirroredKey = state.getMirroredZobristKey();
+        boolean mirrored = mirroredKey < key;
+        if (mirrored) {
+            key = mirroredKey;
+        }
+        long entry = table.probe(key);
+        int tableMove = Move.NONE;
+        if (entry != TranspositionTable.MISS) {
+            tableMove = mirrored ? Move.mirror(TranspositionTable.move(entry)) : TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int tableValue = fromTable(TranspositionTable.value(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && tableValue >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && tableValue <= alpha)) {
+                    return tableValue;
+                }
+            }
+        }
+        int side = state.isFoxToMove() ? 1 : 0;
+        scoreMoves(plyMoves, scores[ply], count, tableMove, killers[ply], history[side]);
+        int originalAlpha = alpha;
+        int bestValue = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = nextMove(plyMoves, scores[ply], i, count);
+            state.makeMove(move);
+            int value = -negamax(state, depth - 1, ply + 1, -beta, -alpha);
+            state.unmakeMove(move);
+            if (stopped) {
+                return 0;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        storeKiller(killers[ply], move);
+                        history[side][move] = Math.min(history[side][move] + depth * depth, KILLER_MOVE_SCORE - 1);
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = bestValue >= beta ? TranspositionTable.LOWER_BOUND
+                : bestValue > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        table.store(key, depth, bound, toTable(bestValue, ply), mirrored ? Move.mirror(bestMove) : bestMove);
+        return bestValue;
+    }
+
+    private static void scoreMoves(int[] moves, int[] scores, int count, int tableMove, int[] killers, int[] history) {
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (move == tableMove) {
+                scores[i] = TABLE_MOVE_SCORE;
+            } else if (move == killers[0] || move == killers[1]) {
+                scores[i] = KILLER_MOVE_SCORE + (move == killers[0] ? 1 : 0);
+            } else {
+                scores[i] = history[move];
+            }
+        }
+    }
+
+    /**
+     * Moves the move with the highest score among the moves starting at the given
+     * index to that index, and returns it.
+     * @param moves The moves, encoded by {@link Move}.
+     * @param scores The scores of the moves, which are swapped along with the moves.
+     * @param index The index to which the best remaining move is moved.
+     * @param count The number of moves.
+     * @return The move with the highest score among the remaining moves.
+     */
+    private static int nextMove(int[] moves, int[] scores, int index, int count) {
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves[best];
+        int score = scores[best];
+        moves[best] = moves[index];
+        scores[best] = scores[index];
+        moves[index] = move;
+        scores[index] = score;
+        return move;
+    }
+
+    private static void storeKiller(int[] killers, int move) {
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+    }
+
+    /**
+     * Converts a value relative to the root into a value relative to the
+     * given ply, so that the distances of the won games stay correct when
+     * the entry is found at another ply.
+     * @param value The value relative to the root.
+     * @param ply The ply at which the value is stored.
+     * @return The value to be stored in the transposition table.
+     */
+    private static int toTable(int value, int ply) {
+        if (value >= WIN_THRESHOLD) {
+            return value + ply;
+        }
+        if (value <= -WIN_THRESHOLD) {
+            return value - ply;
+        }
+        return value;
+    }
+
+    private static int fromTable(int value, int ply) {
+        if (value >= WIN_THRESHOLD) {
+            return value - ply;
+        }
+        if (value <= -WIN_THRESHOLD) {
+            return value + ply;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the heuristic value of a state which is not a goal state, from the
+     * point of view of the side to move. The fox is rewarded for its mobility,
+     * for the dogs it has already passed, for its progress towards the last row,
+     * and for the gaps in the line of the dogs.
+     * @param state The state to be evaluated.
+     * @return The value of the state.
+     */
+    static int evaluate(BitboardState state) {
+        int foxRow = Move.row(state.getFoxSquare());
+        int value = 10 * state.countFoxMoves() + 3 * foxRow;
+        int minDogRow = BoardState.BOARD_SIZE;
+        int maxDogRow = -1;
+        for (long remaining = state.getDogs(); remaining != 0; remaining &= remaining - 1) {
+            int dogRow = Move.row(Long.numberOfTrailingZeros(remaining));
+            if (dogRow < foxRow) {
+                value += 30;
+            }
+            minDogRow = Math.min(minDogRow, dogRow);
+            maxDogRow = Math.max(maxDogRow, dogRow);
+        }
+        value += 6 * (maxDogRow - minDogRow);
+        return state.isFoxToMove() ? value : -value;
+    }
+
+    /**
+     * Returns the transposition table used by the search.
+     * @return The transposition table.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Searches the initial state and prints the result of the search.
+     * @param args The time budget in milliseconds, 1000 by default.
+     */
+    public static void main(String[] args) {
+        long timeBudget = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        AlphaBetaPlayer player = new AlphaBetaPlayer(timeBudget);
+        System.out.println(player.search(new BitboardState()));
+        System.out.println(player.getTable());
+    }
+}
@@ -0,0 +1,47 @@
+package ai;
+
+import state.GameState;
+
+/**
+ * Represents a computer player which chooses the moves of the side to move.
+ */
+public interface ComputerPlayer {
+
+    /**
+     * The name of the system property which gives the number of threads of the search.
+     */
+    String THREADS_PROPERTY_NAME = "foxcatcher.threads";
+
+    /**
+     * The name of the system property which selects the search of the computer player.
+     * Its value is either {@code alphabeta} or {@code mcts}.
+     */
+    String SEARCH_PROPERTY_NAME = "foxcatcher.search";
+
+    /**
+     * Searches for the best move of the side to move in the given state.
+     * The given state is not modified.
+     * @param state The state in which the move should be made.
+     * @return The result of the search, containing the best move.
+     */
+    SearchResult search(GameState state);
+
+    /**
+     * Returns the computer player selected by the {@value #SEARCH_PROPERTY_NAME} system
+     * property, which is the alpha-beta player unless the property is {@code mcts}.
+     * The player searches with the number of threads given by the
+     * {@value #THREADS_PROPERTY_NAME} system property. If the property is not set
+     * or its value is less than 2, the search runs on the calling thread only.
+     * @param timeBudgetMillis The time budget of a move in milliseconds.
+     * @return The selected computer player.
+     */
+    static ComputerPlayer selected(long timeBudgetMillis) {
+        int threads = Math.max(Integer.getInteger(THREADS_PROPERTY_NAME, 1), 1);
+        if ("mcts".equalsIgnoreCase(System.getProperty(SEARCH_PROPERTY_NAME))) {
+            return new MonteCarloPlayer(threads, timeBudgetMillis);
+        }
+        return threads > 1
+                ? new ParallelAlphaBetaPlayer(threads, timeBudgetMillis)
+                : new AlphaBetaPlayer(timeBudgetMillis);
+    }
+}
@@ -0,0 +1,358 @@
+package ai;
+
+import state.BitboardState;
+import state.GameState;
+import state.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a computer player which searches the game tree with Monte Carlo
+ * tree search, selecting the moves in the tree by the UCT formula and evaluating
+ * the new nodes of the tree by random playouts.
+ * <p>
+ * The playouts run on a {@link BitboardState} copy of the searched state owned by the
+ * thread, with make/unmake moves and move buffers allocated once per thread, so
+ * a playout creates no objects. Several threads can grow the same tree in parallel.
+ * A thread counts its visit of a node as soon as it passes through it, before
+ * the result of its playout is known, so until then the visit counts as a loss.
+ * This virtual loss makes the other threads choose other paths in the tree.
+ * <p>
+ * The move which has been visited most often is chosen. The number of nodes of the
+ * {@link SearchResult} is the number of playouts, its depth is the depth of
+ * the tree, and its value is the win rate of the chosen move in per mille.
+ */
+public class MonteCarloPlayer implements ComputerPlayer, AutoCloseable {
+
+    /**
+     * The exploration constant of the UCT formula.
+     */
+    public static final double EXPLORATION = Math.sqrt(2);
+
+    /**
+     * The maximal number of plies of a game. Every second ply is a move of a dog,
+     * and the four dogs can make at most 28 moves towards the first row.
+     */
+    private static final int MAX_PLIES = 2 * 4 * 7 + 2;
+
+    private final int threads;
+
+    private final long timeBudgetNanos;
+
+    private final long maxPlayouts;
+
+    private final SplittableRandom random;
+
+    private final ExecutorService helpers;
+
+    /**
+     * Creates a {@code MonteCarloPlayer} object which searches until the time budget runs out.
+     * @param threads The number of threads growing the tree.
+     * @param timeBudgetMillis The time budget of a move in milliseconds.
+     */
+    public MonteCarloPlayer(int threads, long timeBudgetMillis) {
+        this(threads, timeBudgetMillis, Long.MAX_VALUE, new SplittableRandom());
+    }
+
+    /**
+     * Creates a {@code MonteCarloPlayer} object.
+     * @param threads The number of threads growing the tree, including the thread
+     * calling {@link #search(GameState)}.
+     * @param timeBudgetMillis The time budget of a move in milliseconds.
+     * @param maxPlayouts The number of playouts after which the search stops.
+     * @param random The random number generator of the playouts, which is split
+     * into an independent generator for each thread.
+     * @throws IllegalArgumentException If the number of threads or playouts is less
+     * than 1, or the time budget is negative.
+     */
+    public MonteCarloPlayer(int threads, long timeBudgetMillis, long maxPlayouts, SplittableRandom random) {
+        if (threads < 1 || timeBudgetMillis < 0 || maxPlayouts < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.threads = threads;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        this.maxPlayouts = maxPlayouts;
+        this.random = random;
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "monte-carlo-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the number of threads growing the tree.
+     * @return The number of threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException If the state does not have exactly one fox
+     * and four dogs.
+     */
+    @Override
+    public SearchResult search(GameState state) {
+        BitboardState root = AlphaBetaPlayer.toBitboardState(state);
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        Node rootNode = new Node(Move.NONE, !root.isFoxToMove());
+        rootNode.expand(root, new int[BitboardState.MAX_MOVES]);
+        AtomicLong reservedPlayouts = new AtomicLong();
+        List<Worker> workers = new ArrayList<>();
+        List<Future<?>> helperRuns = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            Worker helper = new Worker(root.clone(), random.split());
+            workers.add(helper);
+            helperRuns.add(helpers.submit(() -> helper.run(rootNode, reservedPlayouts, deadline)));
+        }
+        Worker main = new Worker(root, random.split());
+        workers.add(main);
+        main.run(rootNode, reservedPlayouts, deadline);
+        helperRuns.forEach(MonteCarloPlayer::await);
+        long nanos = System.nanoTime() - start;
+        long playoutCount = 0;
+        int depth = 0;
+        for (Worker worker : workers) {
+            playoutCount += worker.playouts;
+            depth = Math.max(depth, worker.maxDepth);
+        }
+        Node best = null;
+        for (Node child : rootNode.children) {
+            if (best == null || child.visits > best.visits) {
+                best = child;
+            }
+        }
+        if (best == null) {
+            return new SearchResult(Move.NONE, 0, depth, playoutCount, nanos);
+        }
+        int value = best.visits == 0 ? 0 : (int) (1000L * best.wins / best.visits);
+        return new SearchResult(best.move, value, depth, playoutCount, nanos);
+    }
+
+    private static void await(Future<?> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    future.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A helper thread of the search failed", e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops the helper threads.
+     */
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    /**
+     * Represents a node of the search tree, reached by a move from its parent.
+     * The counters are updated atomically, and the children are created by
+     * the first thread which expands the node.
+     */
+    private static final class Node {
+
+        private static final AtomicIntegerFieldUpdater<Node> VISITS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+
+        private static final AtomicIntegerFieldUpdater<Node> WINS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "wins");
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final int move;
+
+        /**
+         * True if the move leading to this node was made by the fox.
+         */
+        private final boolean foxMoved;
+
+        private volatile int visits;
+
+        private volatile int wins;
+
+        private volatile Node[] children;
+
+        private Node(int move, boolean foxMoved) {
+            this.move = move;
+            this.foxMoved = foxMoved;
+        }
+
+        private synchronized Node[] expand(BitboardState state, int[] moves) {
+            if (children == null) {
+                int count = state.isGoal() ? 0 : state.generateMoves(moves);
+                Node[] created = count == 0 ? NO_CHILDREN : new Node[count];
+                for (int i = 0; i < count; i++) {
+                    created[i] = new Node(moves[i], state.isFoxToMove());
+                }
+                children = created;
+            }
+            return children;
+        }
+
+        private Node select(Node[] children) {
+            double logVisits = Math.log(Math.max(visits, 1));
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                int childVisits = child.visits;
+                if (childVisits == 0) {
+                    return child;
+                }
+                double value = (double) child.wins / childVisits + EXPLORATION * Math.sqrt(logVisits / childVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Represents a thread of the search with its own copy of the searched state
+     * and its own buffers and random number generator.
+     */
+    private final class Worker {
+
+        private final BitboardState state;
+
+        private final SplittableRandom random;
+
+        private final int[] moves = new int[BitboardState.MAX_MOVES];
+
+        private final int[] playedMoves = new int[MAX_PLIES];
+
+        private final Node[] path = new Node[MAX_PLIES + 1];
+
+        private long playouts;
+
+        private int maxDepth;
+
+        private Worker(BitboardState state, SplittableRandom random) {
+            this.state = state;
+            this.random = random;
+        }
+
+        /**
+         * Runs playouts until the time budget runs out, or all the playouts are
+         * reserved by the threads.
+         * @param root The root of the search tree shared by the threads.
+         * @param reservedPlayouts The number of playouts reserved by the threads so far.
+         * @param deadline The time the search ends at, given by {@link System#nanoTime()}.
+         */
+        private void run(Node root, AtomicLong reservedPlayouts, long deadline) {
+            while (System.nanoTime() - deadline < 0 && reservedPlayouts.getAndIncrement() < maxPlayouts) {
+                maxDepth = Math.max(maxDepth, iterate(root));
+                playouts++;
+            }
+        }
+
+        /**
+         * Selects a path from the root to a new node, runs a playout from that node,
+         * and updates the nodes of the path with its result.
+         * @param root The root of the search tree.
+         * @return The depth of the new node.
+         */
+        private int iterate(Node root) {
+            Node.VISITS.incrementAndGet(root);
+            path[0] = root;
+            int depth = 0;
+            Node node = root;
+            while (true) {
+                Node[] children = node.children;
+                if (children == null) {
+                    children = node.expand(state, moves);
+                }
+                if (children.length == 0) {
+                    break;
+                }
+                node = node.select(children);
+                boolean firstVisit = Node.VISITS.getAndIncrement(node) == 0;
+                state.makeMove(node.move);
+                path[++depth] = node;
+                if (firstVisit) {
+                    break;
+                }
+            }
+            boolean foxWins = playout();
+            for (int i = depth; i > 0; i--) {
+                if (path[i].foxMoved == foxWins) {
+                    Node.WINS.incrementAndGet(path[i]);
+                }
+                state.unmakeMove(path[i].move);
+            }
+            return depth;
+        }
+
+        /**
+         * Plays random moves until the game ends, then takes them back.
+         * @return True if the fox won the game.
+         */
+        private boolean playout() {
+            int count = 0;
+            boolean foxWins;
+            while (true) {
+                if (state.foxWins()) {
+                    foxWins = true;
+                    break;
+                }
+                if (state.dogWins()) {
+                    foxWins = false;
+                    break;
+                }
+                int moveCount = state.generateMoves(moves);
+                if (moveCount == 0) {
+                    foxWins = !state.isFoxToMove();
+                    break;
+                }
+                int move = moves[random.nextInt(moveCount)];
+                state.makeMove(move);
+                playedMoves[count++] = move;
+            }
+            while (count > 0) {
+                state.unmakeMove(playedMoves[--count]);
+            }
+            return foxWins;
+        }
+    }
+
+    /**
+     * Searches the initial state and prints the number of playouts per second.
+     * @param args The time budget in milliseconds, 1000 by default, and the number of
+     * threads, the number of available processors by default.
+     */
+    public static void main(String[] args) {
+        long timeBudget = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        try (MonteCarloPlayer player = new MonteCarloPlayer(threads, timeBudget)) {
+            SearchResult result = player.search(new BitboardState());
+            System.out.printf("%d threads: %s, %,.0f playouts/s%n", threads, result, result.nodesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package ai;
+
+import state.BitboardState;
+import state.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a computer player which runs the alpha-beta search of
+ * {@link AlphaBetaPlayer} on several threads with the Lazy SMP method.
+ * <p>
+ * Every thread searches the same state with iterative deepening, and the threads
+ * only share the lock-free {@link TranspositionTable}. The entries stored by one
+ * thread cut off and order the moves of the other threads, so together they
+ * complete the iterations faster than a single thread. Every other helper thread
+ * searches one ply deeper in each iteration to spread the threads over more states.
+ * The search of the calling thread decides when the helper threads stop, and
+ * the result of the deepest completed iteration is returned.
+ */
+public class ParallelAlphaBetaPlayer implements ComputerPlayer, AutoCloseable {
+
+    private final TranspositionTable table;
+
+    private final List<AlphaBetaPlayer> searchers = new ArrayList<>();
+
+    private final ExecutorService helpers;
+
+    /**
+     * Creates a {@code ParallelAlphaBetaPlayer} object with a transposition table of
+     * {@link AlphaBetaPlayer#DEFAULT_TABLE_CAPACITY} entries and no depth limit.
+     * @param threads The number of threads searching the game tree.
+     * @param timeBudgetMillis The time budget of a move in milliseconds.
+     */
+    public ParallelAlphaBetaPlayer(int threads, long timeBudgetMillis) {
+        this(new TranspositionTable(AlphaBetaPlayer.DEFAULT_TABLE_CAPACITY), threads,
+                timeBudgetMillis, AlphaBetaPlayer.MAX_PLY - 1);
+    }
+
+    /**
+     * Creates a {@code ParallelAlphaBetaPlayer} object.
+     * @param table The transposition table shared by the threads.
+     * @param threads The number of threads searching the game tree, including
+     * the thread calling {@link #search(GameState)}.
+     * @param timeBudgetMillis The time budget of a move in milliseconds.
+     * @param maxDepth The depth at which the iterative deepening stops.
+     * @throws IllegalArgumentException If the number of threads is less than 1, the time
+     * budget is negative, or the depth is not between 1 and {@code AlphaBetaPlayer.MAX_PLY - 1}.
+     */
+    public ParallelAlphaBetaPlayer(TranspositionTable table, int threads, long timeBudgetMillis, int maxDepth) {
+        if (threads < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.table = table;
+        for (int i = 0; i < threads; i++) {
+            searchers.add(new AlphaBetaPlayer(table, timeBudgetMillis, maxDepth, i % 2));
+        }
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "alpha-beta-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the number of threads searching the game tree.
+     * @return The number of threads.
+     */
+    public int getThreads() {
+        return searchers.size();
+    }
+
+    /**
+     * Returns the transposition table shared by the threads.
+     * @return The transposition table.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The number of nodes of the result is the total number of nodes searched by the threads.
+     * @throws IllegalArgumentException If the state does not have exactly one fox
+     * and four dogs.
+     */
+    @Override
+    public SearchResult search(GameState state) {
+        BitboardState root = AlphaBetaPlayer.toBitboardState(state);
+        table.newSearch();
+        long start = System.nanoTime();
+        AtomicBoolean stopSignal = new AtomicBoolean();
+        List<Future<SearchResult>> helperResults = new ArrayList<>();
+        for (AlphaBetaPlayer helper : searchers.subList(1, searchers.size())) {
+            BitboardState helperRoot = root.clone();
+            helperResults.add(helpers.submit(() -> helper.search(helperRoot, start, stopSignal)));
+        }
+        SearchResult best = searchers.get(0).search(root, start, stopSignal);
+        stopSignal.set(true);
+        long nodes = best.nodes();
+        for (Future<SearchResult> helperResult : helperResults) {
+            SearchResult result = getResult(helperResult);
+            nodes += result.nodes();
+            if (result.depth() > best.depth()) {
+                best = result;
+            }
+        }
+        return new SearchResult(best.bestMove(), best.value(), best.depth(), nodes, System.nanoTime() - start);
+    }
+
+    private static SearchResult getResult(Future<SearchResult> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A helper thread of the search failed", e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops the helper threads.
+     */
+    @Override
+    public void close() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    /**
+     * Measures how the search scales with the number of threads. The initial state is
+     * searched to a fixed depth with 1, 2, 4, 8 and 16 threads, each with an empty
+     * transposition table, and the time to reach the depth is compared with the time
+     * of a single thread. The searches are preceded by a single-threaded warm-up search.
+     * @param args The depth of the searches, 24 by default.
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 24;
+        System.out.printf("Searching the initial state to depth %d on %d available processors%n",
+                depth, Runtime.getRuntime().availableProcessors());
+        System.out.println("threads        time (ms)            nodes        nodes/s  speedup  efficiency");
+        new AlphaBetaPlayer(new TranspositionTable(AlphaBetaPlayer.DEFAULT_TABLE_CAPACITY),
+                TimeUnit.HOURS.toMillis(1), depth).search(new BitboardState()); // warm-up
+        double singleThreadTime = 0;
+        for (int threads = 1; threads <= 16; threads *= 2) {
+            TranspositionTable table = new TranspositionTable(AlphaBetaPlayer.DEFAULT_TABLE_CAPACITY);
+            try (ParallelAlphaBetaPlayer player = new ParallelAlphaBetaPlayer(table, threads, TimeUnit.HOURS.toMillis(1), depth)) {
+                SearchResult result = player.search(new BitboardState());
+                double time = result.nanos() / 1e6;
+                if (threads == 1) {
+                    singleThreadTime = time;
+                }
+                double speedup = singleThreadTime / time;
+                System.out.printf("%7d %16.1f %,16d %,14.0f %8.2f %10.0f%%%n", threads, time, result.nodes(),
+                        result.nodesPerSecond(), speedup, 100 * speedup / threads);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ai;
+
+import state.Move;
+
+/**
+ * Represents the result of a search of a computer player.
+ * @param bestMove The best move found, encoded by {@link Move}, or {@link Move#NONE}
+ * if there's no move to make.
+ * @param value The value of the best move from the point of view of the side to move.
+ * @param depth The depth of the last completed iteration of the search.
+ * @param nodes The number of nodes searched.
+ * @param nanos The duration of the search in nanoseconds.
+ */
+public record SearchResult(int bestMove, int value, int depth, long nodes, long nanos) {
+
+    /**
+     * Returns the number of nodes searched per second.
+     * @return The number of nodes searched per second.
+     */
+    public double nodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (value %d, depth %d, %,d nodes, %,.0f nodes/s)",
+                bestMove == Move.NONE ? "none" : Move.toString(bestMove), value, depth, nodes, nodesPerSecond());
+    }
+}
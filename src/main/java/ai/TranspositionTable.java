@@ -0,0 +1,283 @@
+package ai;
+
+import state.Move;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a fixed-size transposition table which stores the results of
+ * searches by the 64-bit Zobrist keys of the searched states. The table is
+ * made of buckets of two slots. The first slot of a bucket keeps the deepest
+ * result, and the second slot always keeps the most recent result which
+ * does not replace the first one. The keys and the packed entries are stored
+ * in two {@code long} arrays, so no objects are created by the table.
+ * <p>
+ * The table can be shared by the threads of a parallel search without locking.
+ * Each slot stores the key XOR-ed with the entry, so an entry whose key and
+ * entry were written by two different threads at the same time does not match
+ * the key it is probed with, and it is treated as a miss. The elements of the
+ * arrays are read and written atomically.
+ * <p>
+ * An entry contains the value, the depth, the type of the bound, the best move
+ * and the generation of the search in which it was stored. The entries are
+ * returned by {@link #probe(long)} in their packed form and can be unpacked with
+ * the static methods of this class.
+ */
+public class TranspositionTable {
+
+    /**
+     * The value returned by {@link #probe(long)} if the key is not found.
+     */
+    public static final long MISS = 0L;
+
+    /**
+     * The bound type of an exact value.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * The bound type of a value which is a lower bound of the real value.
+     */
+    public static final int LOWER_BOUND = 2;
+
+    /**
+     * The bound type of a value which is an upper bound of the real value.
+     */
+    public static final int UPPER_BOUND = 3;
+
+    private static final int SLOTS_PER_BUCKET = 2;
+
+    private static final int DEPTH_SHIFT = 16;
+
+    private static final int BOUND_SHIFT = 24;
+
+    private static final int MOVE_SHIFT = 26;
+
+    private static final int GENERATION_SHIFT = 38;
+
+    private static final long BYTE_MASK = 0xFFL;
+
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * The keys XOR-ed with the entries stored in the same slots.
+     */
+    private final long[] keys;
+
+    private final long[] entries;
+
+    private final int bucketMask;
+
+    private volatile int generation;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder collisions = new LongAdder();
+
+    private final LongAdder stores = new LongAdder();
+
+    /**
+     * Creates an empty {@code TranspositionTable} object that can hold at most the
+     * given number of entries. The number of entries is rounded down to a power of two.
+     * @param capacity The maximal number of entries, which must be at least 2.
+     * @throws IllegalArgumentException If the capacity is less than 2.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < SLOTS_PER_BUCKET) {
+            throw new IllegalArgumentException();
+        }
+        int buckets = Integer.highestOneBit(capacity / SLOTS_PER_BUCKET);
+        this.keys = new long[buckets * SLOTS_PER_BUCKET];
+        this.entries = new long[buckets * SLOTS_PER_BUCKET];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Returns the maximal number of entries in the table.
+     * @return The maximal number of entries in the table.
+     */
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Starts a new search. The entries stored in the previous searches are
+     * replaced in favor of the new ones, regardless of their depth.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & (int) BYTE_MASK;
+    }
+
+    /**
+     * Removes all the entries from the table.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(entries, 0L);
+    }
+
+    /**
+     * Returns the packed entry stored with the given key.
+     * @param key The Zobrist key of the state.
+     * @return The packed entry, or {@link #MISS} if there's no entry with the given key.
+     */
+    public long probe(long key) {
+        int slot = firstSlot(key);
+        boolean occupied = false;
+        for (int i = slot; i < slot + SLOTS_PER_BUCKET; i++) {
+            long entry = get(entries, i);
+            if (entry != MISS) {
+                if ((get(keys, i) ^ entry) == key) {
+                    hits.increment();
+                    return entry;
+                }
+                occupied = true;
+            }
+        }
+        misses.increment();
+        if (occupied) {
+            collisions.increment();
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a search with the given key.
+     * @param key The Zobrist key of the searched state.
+     * @param depth The depth of the search, between 0 and 255.
+     * @param bound The type of the bound, one of {@link #EXACT}, {@link #LOWER_BOUND}
+     * and {@link #UPPER_BOUND}.
+     * @param value The value of the state, between {@link Short#MIN_VALUE} and {@link Short#MAX_VALUE}.
+     * @param move The best move found in the state, or {@link Move#NONE}.
+     */
+    public void store(long key, int depth, int bound, int value, int move) {
+        int slot = firstSlot(key);
+        int currentGeneration = generation;
+        long first = get(entries, slot);
+        int target;
+        if (first == MISS || (get(keys, slot) ^ first) == key || depth >= depth(first)
+                || generation(first) != currentGeneration) {
+            target = slot;
+        } else {
+            target = slot + 1;
+        }
+        long previous = get(entries, target);
+        if (move == Move.NONE && previous != MISS && (get(keys, target) ^ previous) == key) {
+            move = move(previous);
+        }
+        long entry = pack(depth, bound, value, move, currentGeneration);
+        ELEMENT.setOpaque(keys, target, key ^ entry);
+        ELEMENT.setOpaque(entries, target, entry);
+        stores.increment();
+    }
+
+    private int firstSlot(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) * SLOTS_PER_BUCKET;
+    }
+
+    private static long get(long[] array, int index) {
+        return (long) ELEMENT.getOpaque(array, index);
+    }
+
+    private static long pack(int depth, int bound, int value, int move, int generation) {
+        return (value & 0xFFFFL)
+                | ((depth & BYTE_MASK) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) move << MOVE_SHIFT)
+                | ((long) generation << GENERATION_SHIFT);
+    }
+
+    /**
+     * Returns the value of the packed entry.
+     * @param entry The packed entry.
+     * @return The value of the entry.
+     */
+    public static int value(long entry) {
+        return (short) entry;
+    }
+
+    /**
+     * Returns the depth of the packed entry.
+     * @param entry The packed entry.
+     * @return The depth of the entry.
+     */
+    public static int depth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+
+    /**
+     * Returns the type of the bound of the packed entry.
+     * @param entry The packed entry.
+     * @return The type of the bound of the entry.
+     */
+    public static int bound(long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & 0x3L);
+    }
+
+    /**
+     * Returns the best move of the packed entry.
+     * @param entry The packed entry.
+     * @return The best move of the entry, or {@link Move#NONE}.
+     */
+    public static int move(long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & 0xFFFL);
+    }
+
+    private static int generation(long entry) {
+        return (int) ((entry >>> GENERATION_SHIFT) & BYTE_MASK);
+    }
+
+    /**
+     * Returns the number of probes that found an entry.
+     * @return The number of probes that found an entry.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of probes that did not find an entry.
+     * @return The number of probes that did not find an entry.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of probes that did not find an entry, although the bucket
+     * of the key was occupied by entries of other states.
+     * @return The number of probes that collided with other states.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Returns the number of entries stored.
+     * @return The number of entries stored.
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Resets the hit, miss, collision and store counters.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+        stores.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TranspositionTable[capacity=%d, hits=%d, misses=%d, collisions=%d, stores=%d]",
+                capacity(), getHits(), getMisses(), getCollisions(), getStores());
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains the computer players of the Fox Catcher Game and the data structures
+ * used by their searches.
+ */
+package ai;
@@ -0,0 +1,77 @@
+package analysis;
+
+import state.PieceType;
+
+/**
+ * Provides the encoding of the outcomes of the states into single bytes.
+ * The two highest bits of an outcome tell who wins the game with perfect play,
+ * and the lower six bits contain the number of moves until the game ends,
+ * when the winner tries to win as fast as possible and the loser tries to
+ * delay the end of the game as long as possible.
+ */
+public final class Outcome {
+
+    /**
+     * The outcome of the states that are not valid or have not been solved.
+     */
+    public static final byte UNKNOWN = 0;
+
+    /**
+     * The largest distance that can be encoded in an outcome.
+     */
+    public static final int MAX_DISTANCE = 0x3F;
+
+    private static final int FOX_WINS = 1 << 6;
+
+    private static final int DOGS_WIN = 2 << 6;
+
+    private Outcome() {
+    }
+
+    /**
+     * Returns the encoded outcome.
+     * @param winner The type of the pieces that win the game.
+     * @param distance The number of moves until the end of the game.
+     * @return The encoded outcome.
+     * @throws IllegalArgumentException If the distance cannot be encoded.
+     */
+    public static byte of(PieceType winner, int distance) {
+        if (distance < 0 || distance > MAX_DISTANCE) {
+            throw new IllegalArgumentException();
+        }
+        return (byte) ((winner == PieceType.FOX ? FOX_WINS : DOGS_WIN) | distance);
+    }
+
+    /**
+     * Returns the type of the pieces that win the game.
+     * @param outcome The encoded outcome.
+     * @return The type of the pieces that win the game, or {@code null}
+     * if the outcome is {@link #UNKNOWN}.
+     */
+    public static PieceType winner(byte outcome) {
+        return switch (outcome & (FOX_WINS | DOGS_WIN)) {
+            case FOX_WINS -> PieceType.FOX;
+            case DOGS_WIN -> PieceType.DOG;
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns the number of moves until the end of the game.
+     * @param outcome The encoded outcome.
+     * @return The number of moves until the end of the game.
+     */
+    public static int distance(byte outcome) {
+        return outcome & MAX_DISTANCE;
+    }
+
+    /**
+     * Returns the textual representation of the encoded outcome.
+     * @param outcome The encoded outcome.
+     * @return The textual representation of the outcome, for example {@code DOG wins in 12}.
+     */
+    public static String toString(byte outcome) {
+        PieceType winner = winner(outcome);
+        return winner == null ? "UNKNOWN" : winner + " wins in " + distance(outcome);
+    }
+}
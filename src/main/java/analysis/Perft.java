@@ -0,0 +1,276 @@
+package analysis;
+
+import state.BitboardState;
+import state.BoardState;
+import state.Direction;
+import state.GameState;
+import state.Move;
+import state.Piece;
+import state.PieceType;
+import state.Position;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the leaf nodes of the game tree up to a given depth. The counts
+ * are used to measure the speed of the move generation, and to check that
+ * the {@link BitboardState} engine follows the same rules as the
+ * {@link BoardState} reference engine. No moves are generated in goal states,
+ * so the goal states that are reached before the given depth are not counted.
+ * <p>
+ * The tool can be run from the command line with the arguments
+ * {@code depth [position] [--divide] [--check]}, where the position is given in
+ * the format of {@link BoardState#toString()}, for example
+ * <pre>
+ * {DOG, [FOX: (0,2)], [DOG: (7,1)], [DOG: (7,3)], [DOG: (7,5)], [DOG: (7,7)]}
+ * </pre>
+ */
+public final class Perft {
+
+    private static final Pattern STATE_PATTERN = Pattern.compile("\\{\\s*(FOX|DOG)\\s*,(.*)}");
+
+    private static final Pattern PIECE_PATTERN = Pattern.compile("\\[(FOX|DOG): \\((\\d+),(\\d+)\\)]");
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private Perft() {
+    }
+
+    /**
+     * Counts the leaf nodes up to the given depth using only the methods of
+     * the {@link GameState} interface.
+     * @param state The state from which the game tree is explored.
+     * @param depth The depth of the game tree.
+     * @return The number of leaf nodes at the given depth.
+     */
+    public static long perft(GameState state, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (state.isGoal()) {
+            return 0;
+        }
+        long nodes = 0;
+        for (int i = 0; i < state.getNumberOfPieces(); i++) {
+            for (var direction : Direction.values()) {
+                if (state.canMove(i, direction)) {
+                    GameState child = state.clone();
+                    child.move(i, direction);
+                    nodes += perft(child, depth - 1);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes up to the given depth using the make/unmake methods of
+     * {@link BoardState}, so that no states are copied. The state is restored before
+     * the method returns.
+     * @param state The state from which the game tree is explored.
+     * @param depth The depth of the game tree.
+     * @return The number of leaf nodes at the given depth.
+     */
+    public static long perft(BoardState state, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (state.isGoal()) {
+            return 0;
+        }
+        long nodes = 0;
+        for (int i = 0; i < state.getNumberOfPieces(); i++) {
+            for (var direction : DIRECTIONS) {
+                if (state.canMove(i, direction)) {
+                    int undo = state.makeMove(i, direction);
+                    nodes += perft(state, depth - 1);
+                    state.unmakeMove(undo);
+                }
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes up to the given depth using the primitive methods
+     * of {@link BitboardState}. The state is restored before the method returns.
+     * @param state The state from which the game tree is explored.
+     * @param depth The depth of the game tree.
+     * @return The number of leaf nodes at the given depth.
+     */
+    public static long perft(BitboardState state, int depth) {
+        return perft(state, depth, new int[Math.max(depth, 1)][BitboardState.MAX_MOVES]);
+    }
+
+    private static long perft(BitboardState state, int depth, int[][] moves) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (state.isGoal()) {
+            return 0;
+        }
+        int[] buffer = moves[depth - 1];
+        int count = state.generateMoves(buffer);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            state.makeMove(buffer[i]);
+            nodes += perft(state, depth - 1, moves);
+            state.unmakeMove(buffer[i]);
+        }
+        return nodes;
+    }
+
+    /**
+     * Returns the number of leaf nodes below each move that can be made in the
+     * given state.
+     * @param state The state from which the game tree is explored.
+     * @param depth The depth of the game tree, which must be at least 1.
+     * @return A {@code Map} from the textual representation of the moves,
+     * for example {@code (7,1)->(6,0)}, to the number of leaf nodes below them.
+     */
+    public static Map<String, Long> divide(BitboardState state, int depth) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        if (state.isGoal()) {
+            return result;
+        }
+        int[] moves = new int[BitboardState.MAX_MOVES];
+        int count = state.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            state.makeMove(moves[i]);
+            result.put(Move.toString(moves[i]), perft(state, depth - 1));
+            state.unmakeMove(moves[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Checks that the {@link BitboardState} engine generates the same states as
+     * the {@link BoardState} engine in every node of the game tree up to the given depth.
+     * @param state The state from which the game tree is explored.
+     * @param depth The depth of the game tree.
+     * @throws IllegalStateException If the two engines disagree in a node of the game tree.
+     * The message of the exception contains the state in which the engines disagree.
+     */
+    public static void crossCheck(BoardState state, int depth) {
+        BitboardState bitboard = new BitboardState(state);
+        if (state.isGoal() != bitboard.isGoal() || state.foxWins() != bitboard.foxWins()) {
+            throw new IllegalStateException("The goal states differ in " + state);
+        }
+        if (depth == 0 || state.isGoal()) {
+            return;
+        }
+        Set<BitboardState> expected = new HashSet<>();
+        Set<BoardState> children = new HashSet<>();
+        for (int i = 0; i < state.getNumberOfPieces(); i++) {
+            for (var direction : Direction.values()) {
+                if (state.canMove(i, direction)) {
+                    BoardState child = state.clone();
+                    child.move(i, direction);
+                    children.add(child);
+                    expected.add(new BitboardState(child));
+                }
+            }
+        }
+        Set<BitboardState> actual = new HashSet<>();
+        int[] moves = new int[BitboardState.MAX_MOVES];
+        int count = bitboard.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            BitboardState child = bitboard.clone();
+            child.makeMove(moves[i]);
+            actual.add(child);
+        }
+        if (count != expected.size() || !expected.equals(actual)) {
+            throw new IllegalStateException("The moves differ in " + state);
+        }
+        for (var child : children) {
+            crossCheck(child, depth - 1);
+        }
+    }
+
+    /**
+     * Parses a state given in the format of {@link BoardState#toString()}.
+     * @param text The textual representation of the state.
+     * @return The state represented by the text.
+     * @throws IllegalArgumentException If the text does not represent a valid state.
+     */
+    static BoardState parse(String text) {
+        Matcher stateMatcher = STATE_PATTERN.matcher(text.trim());
+        if (!stateMatcher.matches()) {
+            throw new IllegalArgumentException("Invalid state: " + text);
+        }
+        Matcher pieceMatcher = PIECE_PATTERN.matcher(stateMatcher.group(2));
+        List<Piece> pieces = new ArrayList<>();
+        while (pieceMatcher.find()) {
+            pieces.add(new Piece(PieceType.valueOf(pieceMatcher.group(1)),
+                    Position.of(Integer.parseInt(pieceMatcher.group(2)), Integer.parseInt(pieceMatcher.group(3)))));
+        }
+        return new BoardState(PieceType.valueOf(stateMatcher.group(1)), pieces.toArray(new Piece[0]));
+    }
+
+    /**
+     * Runs the perft tool from the command line.
+     * @param args The depth, optionally followed by the position, the {@code --divide} and the
+     * {@code --check} options.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: Perft depth [position] [--divide] [--check]");
+            System.exit(2);
+        }
+        int depth = Integer.parseInt(args[0]);
+        BoardState state = new BoardState();
+        boolean divide = false;
+        boolean check = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--divide" -> divide = true;
+                case "--check" -> check = true;
+                default -> state = parse(args[i]);
+            }
+        }
+        System.out.println("Position: " + state);
+        if (divide) {
+            for (var entry : divide(new BitboardState(state), depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+            }
+        }
+        for (int d = 1; d <= depth; d++) {
+            long start = System.nanoTime();
+            long bitboardNodes = perft(new BitboardState(state), d);
+            long bitboardTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            long referenceNodes = perft(state, d);
+            long referenceTime = System.nanoTime() - start;
+            System.out.printf("depth %2d: %,15d nodes | bitboard %,15.0f nodes/s | reference %,15.0f nodes/s%n",
+                    d, bitboardNodes, nodesPerSecond(bitboardNodes, bitboardTime),
+                    nodesPerSecond(referenceNodes, referenceTime));
+            if (bitboardNodes != referenceNodes) {
+                System.out.printf("MISMATCH at depth %d: the reference engine counted %d nodes%n", d, referenceNodes);
+                System.exit(1);
+            }
+        }
+        if (check) {
+            try {
+                crossCheck(state, depth);
+                System.out.println("Cross-check passed");
+            } catch (IllegalStateException e) {
+                System.out.println("Cross-check failed: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+    }
+
+    private static double nodesPerSecond(long nodes, long nanos) {
+        return nanos == 0 ? 0 : nodes * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,190 @@
+package analysis;
+
+import state.BitboardState;
+import state.BoardState;
+import state.Move;
+import state.PieceType;
+
+/**
+ * Provides a perfect index of the states of the standard game. In the standard
+ * game every piece stands on a square whose row and column coordinates add up
+ * to an even number, and the pieces never leave these 32 squares, since they
+ * always move diagonally. The index of a state is computed from the rank of the
+ * set of the four squares of the dogs among all the sets of four such squares,
+ * the square of the fox, and the side to move. Some indices do not correspond to
+ * valid states, because the fox stands on the square of a dog.
+ * <p>
+ * Mirroring the board in its vertical axis moves every piece to a square of the
+ * other colour, and the outcome of the mirror image of a state is the outcome of
+ * the state. The states whose pieces all stand on the other 32 squares are therefore
+ * given the index of their mirror image by {@link #canonicalIndex(long, int, boolean)}.
+ */
+public final class PositionIndex {
+
+    /**
+     * The number of squares the pieces can stand on in the standard game.
+     */
+    public static final int NUMBER_OF_SQUARES = BoardState.BOARD_SIZE * BoardState.BOARD_SIZE / 2;
+
+    private static final int NUMBER_OF_DOGS = 4;
+
+    private static final int[][] BINOMIALS = new int[NUMBER_OF_SQUARES + 1][NUMBER_OF_DOGS + 1];
+
+    static {
+        for (int n = 0; n <= NUMBER_OF_SQUARES; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, NUMBER_OF_DOGS); k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + (k <= n - 1 ? BINOMIALS[n - 1][k] : 0);
+            }
+        }
+    }
+
+    /**
+     * The number of sets of four squares the dogs can stand on.
+     */
+    public static final int NUMBER_OF_DOG_SETS = BINOMIALS[NUMBER_OF_SQUARES][NUMBER_OF_DOGS];
+
+    /**
+     * The number of indices, which is one more than the largest index.
+     */
+    public static final int SIZE = NUMBER_OF_DOG_SETS * NUMBER_OF_SQUARES * 2;
+
+    private PositionIndex() {
+    }
+
+    /**
+     * Returns true if the pieces can stand on the given square in the standard game.
+     * @param square The square, as defined by {@link Move#square(int, int)}.
+     * @return True if the row and column coordinates of the square add up to an even number.
+     */
+    public static boolean isPlayable(int square) {
+        return ((Move.row(square) + Move.col(square)) & 1) == 0;
+    }
+
+    /**
+     * Returns the number of the given playable square among the playable squares.
+     * @param square The playable square, as defined by {@link Move#square(int, int)}.
+     * @return The number of the square between 0 and 31.
+     */
+    public static int compress(int square) {
+        return square >>> 1;
+    }
+
+    /**
+     * Returns the playable square with the given number.
+     * @param compressedSquare The number of the square between 0 and 31.
+     * @return The square, as defined by {@link Move#square(int, int)}.
+     */
+    public static int expand(int compressedSquare) {
+        int row = compressedSquare / (BoardState.BOARD_SIZE / 2);
+        return Move.square(row, 2 * (compressedSquare % (BoardState.BOARD_SIZE / 2)) + (row & 1));
+    }
+
+    /**
+     * Returns the index of the state given by its bitboard of dogs, the square of
+     * the fox and the side to move.
+     * @param dogs The bitboard of the dogs.
+     * @param fox The square of the fox.
+     * @param foxToMove True if the fox can be moved next.
+     * @return The index of the state, or -1 if a piece stands on a square which is
+     * not playable in the standard game.
+     */
+    public static int index(long dogs, int fox, boolean foxToMove) {
+        if (!isPlayable(fox)) {
+            return -1;
+        }
+        int rank = 0;
+        int k = 1;
+        for (long remaining = dogs; remaining != 0; remaining &= remaining - 1) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            if (!isPlayable(square)) {
+                return -1;
+            }
+            rank += BINOMIALS[compress(square)][k++];
+        }
+        return (rank * NUMBER_OF_SQUARES + compress(fox)) * 2 + (foxToMove ? 1 : 0);
+    }
+
+    /**
+     * Returns the index of the given state.
+     * @param state The state.
+     * @return The index of the state, or -1 if a piece stands on a square which is
+     * not playable in the standard game.
+     */
+    public static int index(BitboardState state) {
+        return index(state.getDogs(), state.getFoxSquare(), state.isFoxToMove());
+    }
+
+    /**
+     * Returns the index of the state given by its bitboard of dogs, the square of
+     * the fox and the side to move, or the index of its mirror image if the fox
+     * does not stand on a playable square.
+     * @param dogs The bitboard of the dogs.
+     * @param fox The square of the fox.
+     * @param foxToMove True if the fox can be moved next.
+     * @return The index of the state or of its mirror image, or -1 if the pieces
+     * do not all stand on squares of the same colour.
+     */
+    public static int canonicalIndex(long dogs, int fox, boolean foxToMove) {
+        if (isPlayable(fox)) {
+            return index(dogs, fox, foxToMove);
+        }
+        return index(BitboardState.mirror(dogs), Move.mirrorSquare(fox), foxToMove);
+    }
+
+    /**
+     * Returns the bitboard of the dogs in the state with the given index.
+     * @param index The index of the state.
+     * @return The bitboard of the dogs.
+     */
+    public static long dogs(int index) {
+        int rank = index / (NUMBER_OF_SQUARES * 2);
+        long dogs = 0L;
+        int n = NUMBER_OF_SQUARES;
+        for (int k = NUMBER_OF_DOGS; k >= 1; k--) {
+            do {
+                n--;
+            } while (BINOMIALS[n][k] > rank);
+            rank -= BINOMIALS[n][k];
+            dogs |= 1L << expand(n);
+        }
+        return dogs;
+    }
+
+    /**
+     * Returns the square of the fox in the state with the given index.
+     * @param index The index of the state.
+     * @return The square of the fox.
+     */
+    public static int fox(int index) {
+        return expand((index >>> 1) % NUMBER_OF_SQUARES);
+    }
+
+    /**
+     * Returns true if the fox can be moved next in the state with the given index.
+     * @param index The index of the state.
+     * @return True if the fox can be moved next.
+     */
+    public static boolean isFoxToMove(int index) {
+        return (index & 1) != 0;
+    }
+
+    /**
+     * Returns true if the index corresponds to a valid state.
+     * @param index The index of the state.
+     * @return True if the fox does not stand on the square of a dog.
+     */
+    public static boolean isValid(int index) {
+        return (dogs(index) & (1L << fox(index))) == 0;
+    }
+
+    /**
+     * Returns the state with the given index.
+     * @param index The index of a valid state.
+     * @return The state with the given index.
+     * @throws IllegalArgumentException If the index does not correspond to a valid state.
+     */
+    public static BitboardState state(int index) {
+        return new BitboardState(dogs(index), fox(index), isFoxToMove(index) ? PieceType.FOX : PieceType.DOG);
+    }
+}
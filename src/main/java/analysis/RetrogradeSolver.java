@@ -0,0 +1,212 @@
+package analysis;
+
+import state.BitboardState;
+import state.BoardState;
+import state.GameState;
+import state.Move;
+import state.PieceType;
+
+/**
+ * Solves the standard game by retrograde analysis. Every state of the
+ * {@link PositionIndex} is labeled with its {@link Outcome}: who wins the game
+ * with perfect play, and in how many moves.
+ * <p>
+ * The goal states are solved first: the fox wins in the states where
+ * {@link BitboardState#foxWins()} is true, and the dogs win in the states where
+ * {@link BitboardState#dogWins()} is true. A state which is not a goal state,
+ * but in which the side to move cannot move, is lost by the side to move.
+ * The solved states are then processed in the order of their distances, and
+ * the outcomes are propagated to the states from which they can be reached.
+ * A state is won by the side to move as soon as one of its moves leads to a
+ * state won by the same side, and it is lost when all of its moves have been
+ * found to lead to states won by the opponent. Since the distances are processed
+ * in increasing order, the winner always chooses the fastest win and the loser
+ * the slowest loss.
+ */
+public class RetrogradeSolver {
+
+    private final byte[] outcomes = new byte[PositionIndex.SIZE];
+
+    private byte[] remainingMoves;
+
+    private int[] queue;
+
+    private int queueHead;
+
+    private int queueTail;
+
+    private int validStates;
+
+    /**
+     * Solves every state of the {@link PositionIndex}.
+     * @return The array of the outcomes indexed by the indices of the states.
+     * The outcome of the invalid indices is {@link Outcome#UNKNOWN}.
+     */
+    public byte[] solve() {
+        remainingMoves = new byte[PositionIndex.SIZE];
+        queue = new int[PositionIndex.SIZE];
+        queueHead = 0;
+        queueTail = 0;
+        validStates = 0;
+        solveGoalStates();
+        while (queueHead < queueTail) {
+            propagate(queue[queueHead++]);
+        }
+        remainingMoves = null;
+        queue = null;
+        return outcomes;
+    }
+
+    /**
+     * Returns the number of valid states in the index.
+     * @return The number of valid states.
+     */
+    public int getNumberOfValidStates() {
+        return validStates;
+    }
+
+    /**
+     * Returns the outcome of the state with the given index.
+     * @param index The index of the state.
+     * @return The outcome of the state.
+     */
+    public byte getOutcome(int index) {
+        return outcomes[index];
+    }
+
+    /**
+     * Returns the outcome of the given state.
+     * The states whose pieces stand on the squares of the other colour get the
+     * outcome of their mirror image, see {@link PositionIndex#canonicalIndex(long, int, boolean)}.
+     * @param state The state.
+     * @return The outcome of the state, or {@link Outcome#UNKNOWN} if the pieces
+     * do not all stand on squares of the same colour.
+     */
+    public byte getOutcome(GameState state) {
+        BitboardState bitboardState = new BitboardState(state);
+        int index = PositionIndex.canonicalIndex(bitboardState.getDogs(), bitboardState.getFoxSquare(),
+                bitboardState.isFoxToMove());
+        return index < 0 ? Outcome.UNKNOWN : outcomes[index];
+    }
+
+    private void solveGoalStates() {
+        int[] moves = new int[BitboardState.MAX_MOVES];
+        for (int index = 0; index < PositionIndex.SIZE; index++) {
+            if (!PositionIndex.isValid(index)) {
+                continue;
+            }
+            validStates++;
+            BitboardState state = PositionIndex.state(index);
+            if (state.foxWins()) {
+                resolve(index, PieceType.FOX, 0);
+            } else if (state.dogWins()) {
+                resolve(index, PieceType.DOG, 0);
+            } else {
+                int count = state.generateMoves(moves);
+                if (count == 0) {
+                    resolve(index, state.isFoxToMove() ? PieceType.DOG : PieceType.FOX, 0);
+                } else {
+                    remainingMoves[index] = (byte) count;
+                }
+            }
+        }
+    }
+
+    private void resolve(int index, PieceType winner, int distance) {
+        outcomes[index] = Outcome.of(winner, distance);
+        queue[queueTail++] = index;
+    }
+
+    /**
+     * Propagates the outcome of the solved state to the states from which
+     * it can be reached with one move.
+     * @param index The index of the solved state.
+     */
+    private void propagate(int index) {
+        long dogs = PositionIndex.dogs(index);
+        int fox = PositionIndex.fox(index);
+        byte outcome = outcomes[index];
+        PieceType winner = Outcome.winner(outcome);
+        int distance = Outcome.distance(outcome) + 1;
+        if (PositionIndex.isFoxToMove(index)) {
+            for (long remaining = dogs; remaining != 0; remaining &= remaining - 1) {
+                int square = Long.numberOfTrailingZeros(remaining);
+                int row = Move.row(square);
+                int col = Move.col(square);
+                if (row == BoardState.BOARD_SIZE - 1) {
+                    continue;
+                }
+                if (col > 0) {
+                    unmoveDog(dogs, fox, square, Move.square(row + 1, col - 1), winner, distance);
+                }
+                if (col < BoardState.BOARD_SIZE - 1) {
+                    unmoveDog(dogs, fox, square, Move.square(row + 1, col + 1), winner, distance);
+                }
+            }
+        } else {
+            int row = Move.row(fox);
+            int col = Move.col(fox);
+            for (int rowChange = -1; rowChange <= 1; rowChange += 2) {
+                for (int colChange = -1; colChange <= 1; colChange += 2) {
+                    int previousRow = row + rowChange;
+                    int previousCol = col + colChange;
+                    if (previousRow >= 0 && previousRow < BoardState.BOARD_SIZE
+                            && previousCol >= 0 && previousCol < BoardState.BOARD_SIZE) {
+                        int previous = Move.square(previousRow, previousCol);
+                        if ((dogs & (1L << previous)) == 0) {
+                            update(PositionIndex.index(dogs, previous, true), PieceType.FOX, winner, distance);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void unmoveDog(long dogs, int fox, int square, int previous, PieceType winner, int distance) {
+        if (previous == fox || (dogs & (1L << previous)) != 0) {
+            return;
+        }
+        long previousDogs = dogs ^ (1L << square) ^ (1L << previous);
+        update(PositionIndex.index(previousDogs, fox, false), PieceType.DOG, winner, distance);
+    }
+
+    /**
+     * Updates the state from which a solved state can be reached.
+     * @param index The index of the state to be updated.
+     * @param mover The type of the piece that can be moved in the state.
+     * @param winner The winner of the solved state.
+     * @param distance The distance of the solved state plus one.
+     */
+    private void update(int index, PieceType mover, PieceType winner, int distance) {
+        if (outcomes[index] != Outcome.UNKNOWN) {
+            return;
+        }
+        if (mover == winner || --remainingMoves[index] == 0) {
+            resolve(index, winner, distance);
+        }
+    }
+
+    /**
+     * Solves the game and prints the outcome of the initial states.
+     * @param args The command line arguments, which are ignored.
+     */
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        RetrogradeSolver solver = new RetrogradeSolver();
+        byte[] outcomes = solver.solve();
+        long time = System.nanoTime() - start;
+        int foxWins = 0;
+        int dogsWin = 0;
+        for (byte outcome : outcomes) {
+            if (Outcome.winner(outcome) == PieceType.FOX) {
+                foxWins++;
+            } else if (Outcome.winner(outcome) == PieceType.DOG) {
+                dogsWin++;
+            }
+        }
+        System.out.printf("Solved %,d valid states in %.2f s: the fox wins in %,d, the dogs win in %,d%n",
+                solver.getNumberOfValidStates(), time / 1e9, foxWins, dogsWin);
+        System.out.println("Dogs to move first: " + Outcome.toString(solver.getOutcome(new BoardState())));
+        System.out.println("Fox to move first: " + Outcome.toString(solver.getOutcome(new BoardState(PieceType.FOX))));
+    }
+}
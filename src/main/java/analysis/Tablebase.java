@@ -0,0 +1,172 @@
+package analysis;
+
+import state.BitboardState;
+import state.BoardState;
+import state.GameState;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Represents an endgame tablebase of the standard game stored in a file.
+ * The file starts with a header of four {@code int} values: the magic number,
+ * the version of the format, the number of entries and the CRC-32 checksum of
+ * the entries. The header is followed by the {@link Outcome} of every state
+ * of the {@link PositionIndex} as a single byte, in the order of the indices.
+ * <p>
+ * The file is mapped into memory when it is opened, so probing the tablebase
+ * reads the outcome directly from the mapped file, and the entries are not
+ * loaded onto the heap. The states whose pieces stand on the squares of the other
+ * colour are probed through their mirror images, see {@link PositionIndex#canonicalIndex(long, int, boolean)}.
+ */
+public class Tablebase {
+
+    /**
+     * The magic number at the beginning of the tablebase files.
+     */
+    public static final int MAGIC = 0x46435442; // "FCTB"
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    private final MappedByteBuffer entries;
+
+    private final int checksum;
+
+    private Tablebase(MappedByteBuffer entries, int checksum) {
+        this.entries = entries;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Writes the outcomes to a tablebase file.
+     * @param outcomes The outcomes of the states indexed by the {@link PositionIndex}.
+     * @param file The file to be written.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If the number of outcomes is not equal to
+     * {@link PositionIndex#SIZE}.
+     */
+    public static void write(byte[] outcomes, Path file) throws IOException {
+        if (outcomes.length != PositionIndex.SIZE) {
+            throw new IllegalArgumentException();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(outcomes);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(outcomes.length)
+                .putInt((int) crc.getValue());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(header.array());
+            out.write(outcomes);
+        }
+    }
+
+    /**
+     * Opens a tablebase file and maps it into memory.
+     * @param file The tablebase file.
+     * @return The tablebase stored in the file.
+     * @throws IOException If the file cannot be read, or it is not a tablebase file
+     * of the current version.
+     */
+    public static Tablebase open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_SIZE + (long) PositionIndex.SIZE) {
+                throw new IOException("Invalid tablebase size: " + channel.size());
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Unexpected end of tablebase file: " + file);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != PositionIndex.SIZE) {
+                throw new IOException("Not a tablebase file of version " + VERSION + ": " + file);
+            }
+            int checksum = header.getInt();
+            return new Tablebase(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, PositionIndex.SIZE), checksum);
+        }
+    }
+
+    /**
+     * Checks the entries of the tablebase against the checksum stored in the header.
+     * This method reads the whole file.
+     * @return True if the entries match the checksum.
+     */
+    public boolean verify() {
+        CRC32 crc = new CRC32();
+        crc.update(entries.duplicate());
+        return (int) crc.getValue() == checksum;
+    }
+
+    /**
+     * Returns the outcome of the state with the given index.
+     * @param index The index of the state.
+     * @return The outcome of the state.
+     */
+    public byte probe(int index) {
+        return entries.get(index);
+    }
+
+    /**
+     * Returns the outcome of the state given by its bitboard of dogs, the square
+     * of the fox and the side to move.
+     * @param dogs The bitboard of the dogs.
+     * @param fox The square of the fox.
+     * @param foxToMove True if the fox can be moved next.
+     * @return The outcome of the state, or {@link Outcome#UNKNOWN} if the pieces
+     * do not all stand on squares of the same colour.
+     */
+    public byte probe(long dogs, int fox, boolean foxToMove) {
+        int index = PositionIndex.canonicalIndex(dogs, fox, foxToMove);
+        return index < 0 ? Outcome.UNKNOWN : entries.get(index);
+    }
+
+    /**
+     * Returns the outcome of the given state.
+     * @param state The state.
+     * @return The outcome of the state, or {@link Outcome#UNKNOWN} if the pieces
+     * do not all stand on squares of the same colour.
+     */
+    public byte probe(BitboardState state) {
+        return probe(state.getDogs(), state.getFoxSquare(), state.isFoxToMove());
+    }
+
+    /**
+     * Returns the outcome of the given state.
+     * @param state The state.
+     * @return The outcome of the state, or {@link Outcome#UNKNOWN} if the pieces
+     * do not all stand on squares of the same colour.
+     */
+    public byte probe(GameState state) {
+        return state instanceof BitboardState bitboardState
+                ? probe(bitboardState) : probe(new BitboardState(state));
+    }
+
+    /**
+     * Solves the game and writes the tablebase to the given file.
+     * @param args The path of the tablebase file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "foxcatcher.tb");
+        write(new RetrogradeSolver().solve(), file);
+        Tablebase tablebase = open(file);
+        System.out.println("Tablebase written to " + file + ", checksum "
+                + (tablebase.verify() ? "verified" : "FAILED"));
+        System.out.println("Initial state: " + Outcome.toString(tablebase.probe(new BoardState())));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains the tools for analysing the Fox Catcher Game.
+ */
+package analysis;
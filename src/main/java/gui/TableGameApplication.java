@@ -1,15 +1,78 @@
 package gui;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import org.tinylog.Logger;
+import repository.AsyncResultWriter;
+import repository.BinaryResultLog;
+import repository.ResultStore;
 
 public class TableGameApplication extends Application {
 
+    /**
+     * The file of the log to which the results of the games are appended.
+     */
+    public static final Path RESULT_LOG_FILE = Path.of("results.log");
+
+    /**
+     * The number of results after which the result log is forced to the disk.
+     * The writer also forces the log after every batch of results and when the
+     * application stops.
+     */
+    private static final int RESULT_LOG_SYNC_INTERVAL = 8;
+
+    private static BinaryResultLog resultLog;
+
+    /**
+     * The file of the results saved in JSON format by the earlier versions of the game.
+     */
+    public static final File RESULT_JSON_FILE = new File("results.json");
+
+    private static AsyncResultWriter resultWriter;
+
+    private static ResultStore resultStore;
+
+    /**
+     * Returns the store of the results, which is shared by the views.
+     * @return The store of the results.
+     */
+    public static ResultStore getResultStore() {
+        return resultStore;
+    }
+
+    @Override
+    public void init() {
+        try {
+            resultLog = BinaryResultLog.open(RESULT_LOG_FILE, RESULT_LOG_SYNC_INTERVAL);
+            resultWriter = new AsyncResultWriter(resultLog, AsyncResultWriter.DEFAULT_CAPACITY);
+            Logger.debug("Result log opened with {} results", resultLog.size());
+        } catch (IOException e) {
+            Logger.error(e, "The result log could not be opened!");
+        }
+        resultStore = new ResultStore(RESULT_JSON_FILE, resultWriter);
+        resultStore.refreshIfChanged();
+    }
+
+    @Override
+    public void stop() {
+        if (resultWriter != null) {
+            resultWriter.close();
+        }
+        if (resultLog != null) {
+            try {
+                resultLog.close();
+            } catch (IOException e) {
+                Logger.error(e, "The result log could not be closed!");
+            }
+        }
+    }
+
     @Override
     public void start(Stage stage) throws IOException {
         Parent root = FXMLLoader.load(getClass().getResource("/fxml/startView.fxml"));
@@ -1,7 +1,9 @@
 package gui.controller;
 
 import results.GameResult;
-import repository.GameResultRepository;
+import results.HeadToHead;
+import results.PlayerStatistics;
+import gui.TableGameApplication;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -11,19 +13,20 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import org.tinylog.Logger;
 
-import java.io.File;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.List;
 
 /**
- * The controller class of the result view which shows the best results.
+ * The controller class of the result view which shows the best results,
+ * and the statistics of the players of the selected result.
  */
 public class ResultViewController {
 
@@ -45,18 +48,17 @@ public class ResultViewController {
     @FXML
     private TableColumn<GameResult, ZonedDateTime> timeOfPlayColumn;
 
+    @FXML
+    private Label statisticsLabel;
+
     @FXML
     private Button newGameButton;
 
-    private GameResultRepository gameResultRepository = new GameResultRepository();
-    
     @FXML
     private void initialize() {
 
         Logger.info("Loading the results from the previous games");
-        loadResults();
-
-        List<GameResult> bestResults = gameResultRepository.findBestResults(15);
+        List<GameResult> bestResults = TableGameApplication.getResultStore().findBestResults(15);
 
         playerOneColumn.setCellValueFactory(new PropertyValueFactory<GameResult, String>("playerOne"));
         playerTwoColumn.setCellValueFactory(new PropertyValueFactory<GameResult, String>("playerTwo"));
@@ -67,6 +69,36 @@ public class ResultViewController {
         ObservableList<GameResult> observableResult = FXCollections.observableArrayList();
         observableResult.addAll(bestResults);
         scoreTable.setItems(observableResult);
+        scoreTable.getSelectionModel().selectedItemProperty()
+                .addListener((observable, oldResult, newResult) -> showStatistics(newResult));
+    }
+
+    private void showStatistics(GameResult result) {
+        if (result == null) {
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (String player : new String[] {result.getPlayerOne(), result.getPlayerTwo()}) {
+            if (player == null) {
+                continue;
+            }
+            TableGameApplication.getResultStore().getPlayerStatistics(player).ifPresent(statistics ->
+                    text.append(formatStatistics(statistics)).append('\n'));
+        }
+        if (result.getPlayerOne() != null && result.getPlayerTwo() != null) {
+            HeadToHead headToHead = TableGameApplication.getResultStore()
+                    .getHeadToHead(result.getPlayerOne(), result.getPlayerTwo());
+            text.append(String.format("%s vs %s: %d-%d",
+                    headToHead.player(), headToHead.opponent(), headToHead.wins(), headToHead.losses()));
+        }
+        statisticsLabel.setText(text.toString().strip());
+    }
+
+    private static String formatStatistics(PlayerStatistics statistics) {
+        return String.format("%s: %d/%d as dogs, %d/%d as fox, %.1f moves on average, best win %d, streak %d (best %d)",
+                statistics.player(), statistics.winsAsDogs(), statistics.gamesAsDogs(),
+                statistics.winsAsFox(), statistics.gamesAsFox(), statistics.averageMoves(),
+                statistics.bestWinMoves(), statistics.currentWinStreak(), statistics.longestWinStreak());
     }
 
     /**
@@ -86,15 +118,4 @@ public class ResultViewController {
         stage.show();
         Logger.trace("Switching from the result view to the start view");
     }
-
-    /**
-     * Loads the best results from the previous games.
-     */
-    private void loadResults() {
-        try {
-            gameResultRepository.loadFromFile(new File("results.json"));
-        } catch (IOException e) {
-            Logger.warn("The results could not be loaded!");
-        }
-    }
 }
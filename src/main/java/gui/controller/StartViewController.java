@@ -8,26 +8,57 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import org.tinylog.Logger;
+import state.PieceType;
 
 import java.io.IOException;
 
 /**
- * The controller class of the start view where the players' names can be given.
+ * The controller class of the start view where the players' names can be given,
+ * and one of the players can be replaced by the computer.
  */
 public class StartViewController {
 
+    private static final String NO_COMPUTER = "Nobody";
+
+    private static final String COMPUTER_PLAYS_DOGS = "Player 1 (dogs)";
+
+    private static final String COMPUTER_PLAYS_FOX = "Player 2 (fox)";
+
+    /**
+     * The name given to the player replaced by the computer if no name has been given.
+     */
+    private static final String COMPUTER_NAME = "Computer";
+
     @FXML
     private TextField playerOneTextField;
 
     @FXML
     private TextField playerTwoTextField;
 
+    @FXML
+    private ComboBox<String> computerComboBox;
+
     @FXML
     private Button startButton;
 
+    @FXML
+    private void initialize() {
+        computerComboBox.getItems().addAll(NO_COMPUTER, COMPUTER_PLAYS_DOGS, COMPUTER_PLAYS_FOX);
+        computerComboBox.getSelectionModel().selectFirst();
+    }
+
+    private PieceType getComputerPieceType() {
+        return switch (computerComboBox.getValue()) {
+            case COMPUTER_PLAYS_DOGS -> PieceType.DOG;
+            case COMPUTER_PLAYS_FOX -> PieceType.FOX;
+            default -> null;
+        };
+    }
+
     /**
      * Switches to the main view after the {@code startButton} was hit.
      * @param actionEvent The {@code ActionEvent} that represents the event
@@ -38,6 +69,12 @@ public class StartViewController {
     public void switchToMainView(ActionEvent actionEvent) throws IOException {
         String playerOneName = playerOneTextField.getText();
         String playerTwoName = playerTwoTextField.getText();
+        PieceType computerPieceType = getComputerPieceType();
+        if (computerPieceType == PieceType.DOG && playerOneName.isEmpty()) {
+            playerOneName = COMPUTER_NAME;
+        } else if (computerPieceType == PieceType.FOX && playerTwoName.isEmpty()) {
+            playerTwoName = COMPUTER_NAME;
+        }
         if (playerOneName == "" || playerTwoName == "") {
             Logger.info("At least one player's name has not been given!");
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
@@ -51,6 +88,7 @@ public class StartViewController {
         Parent root = loader.load();
         TableGameController gameController = loader.getController();
         gameController.setPlayerNames(playerOneName, playerTwoName);
+        gameController.setComputerPieceType(computerPieceType);
         Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
         Scene scene = new Scene(root);
         String css = this.getClass().getResource("/css/mainView.css").toExternalForm();
@@ -60,5 +98,8 @@ public class StartViewController {
         Logger.debug("Switching from the start view to the main view");
         Logger.info("Player 1's name is set to {}, and Player 2's name is set to {}",
                 playerOneName, playerTwoName);
+        if (computerPieceType != null) {
+            Logger.info("The computer plays with the {} pieces", computerPieceType);
+        }
     }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package gui.controller;
 
+import ai.ComputerPlayer;
+import ai.SearchResult;
 import results.GameResult;
-import repository.GameResultRepository;
+import gui.TableGameApplication;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
@@ -21,7 +24,6 @@ import javafx.stage.Stage;
 import org.tinylog.Logger;
 import state.*;
 
-import java.io.File;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -32,7 +34,12 @@ import java.util.Optional;
  */
 public class TableGameController {
 
-    private BoardState boardState;
+    /**
+     * The time the computer player can spend on a move in milliseconds.
+     */
+    private static final long COMPUTER_TIME_BUDGET_MILLIS = 1000;
+
+    private GameState boardState;
 
     @FXML
     private VBox container;
@@ -63,7 +70,20 @@ public class TableGameController {
 
     private String winnerName;
 
-    private GameResultRepository gameResultRepository = new GameResultRepository();
+    /**
+     * The computer player, which is shared by the games so that its threads and
+     * transposition table are only created once, or {@code null} until the
+     * computer makes its first move.
+     */
+    private static ComputerPlayer computerPlayer;
+
+    /**
+     * The type of the pieces moved by the computer, or {@code null} if both
+     * players are humans.
+     */
+    private PieceType computerPieceType;
+
+    private boolean isComputerThinking = false;
 
     /**
      * Sets the names of the two players.
@@ -75,12 +95,19 @@ public class TableGameController {
         this.playerTwoName = playerTwoName;
     }
 
+    /**
+     * Sets the type of the pieces moved by the computer, and lets the computer
+     * make its move if it can move next.
+     * @param computerPieceType The type of the pieces moved by the computer,
+     * or {@code null} if both players are humans.
+     */
+    public void setComputerPieceType(PieceType computerPieceType) {
+        this.computerPieceType = computerPieceType;
+        makeComputerMoveIfNeeded();
+    }
+
     @FXML
     private void initialize() {
-        File results = new File("results.json");
-        if (results.exists()) {
-            loadResults();
-        }
         createControlBindings();
         loadImages();
         fillGridWithSquares();
@@ -88,7 +115,7 @@ public class TableGameController {
     }
 
     private void resetGame() {
-        boardState = new BoardState();
+        boardState = StateEngine.selected().initialState();
         numberOfMoves.set(0);
         showBoardStateOnGrid();
         winnerName = "";
@@ -163,26 +190,81 @@ public class TableGameController {
         switchToResultView();
     }
 
-    private void makeMove(Direction direction) {
-        boardState.getPieceIndexByPosition(positionOfPieceToMove).ifPresentOrElse( index -> {
+    private void makeMove(Position sourcePosition, Direction direction) {
+        boardState.getPieceIndexByPosition(sourcePosition).ifPresentOrElse( index -> {
                 if (boardState.canMove(index, direction)) {
-                    var oldBoardState = boardState.clone();
+                    PieceType movedPieceType = boardState.getPieceTypeToMove();
                     boardState.move(index, direction);
                     Logger.info("The new state after moving: {}", boardState);
-                    updateBoardStateOnGrid(oldBoardState, positionOfPieceToMove, positionOfPieceToMove.getPositionAt(direction));
+                    updateBoardStateOnGrid(movedPieceType, sourcePosition, sourcePosition.getPositionAt(direction));
                     numberOfMoves.set(numberOfMoves.get() + 1);
                     if (boardState.isGoal()) {
                         Logger.info("Goal state reached!");
                         handleGameOver();
+                    } else {
+                        makeComputerMoveIfNeeded();
                     }
+                } else if (!isCorrectPieceTypeClickedToMove(sourcePosition)) {
+                    Logger.info("The {} can be moved on the next turn!", boardState.getPieceTypeToMove());
+                } else {
+                    Logger.debug("The move is not possible to make!");
                 }
             }, () -> Logger.debug("The move is not possible to make!")
         );
     }
 
-    private void updateBoardStateOnGrid(BoardState oldBoardState, Position sourcePosition, Position destinationPosition) {
+    private boolean isComputerToMove() {
+        return computerPieceType != null && boardState.getPieceTypeToMove() == computerPieceType;
+    }
+
+    /**
+     * Returns the computer player, which is created on the first call, so no
+     * transposition table or threads are created when both players are humans.
+     * @return The computer player shared by the games.
+     */
+    private static synchronized ComputerPlayer getComputerPlayer() {
+        if (computerPlayer == null) {
+            computerPlayer = ComputerPlayer.selected(COMPUTER_TIME_BUDGET_MILLIS);
+        }
+        return computerPlayer;
+    }
+
+    /**
+     * Starts the search of the computer player on a background thread if the
+     * computer can move next. The move found is made on the JavaFX application thread.
+     */
+    private void makeComputerMoveIfNeeded() {
+        if (!isComputerToMove() || boardState.isGoal() || isComputerThinking) {
+            return;
+        }
+        isComputerThinking = true;
+        GameState stateToSearch = boardState.clone();
+        Task<SearchResult> search = new Task<>() {
+            @Override
+            protected SearchResult call() {
+                return getComputerPlayer().search(stateToSearch);
+            }
+        };
+        search.setOnSucceeded(event -> {
+            isComputerThinking = false;
+            SearchResult result = search.getValue();
+            Logger.info("The computer found the move {}", result);
+            if (result.bestMove() != Move.NONE) {
+                int from = Move.from(result.bestMove());
+                makeMove(Position.of(Move.row(from), Move.col(from)), Move.direction(result.bestMove()));
+            }
+        });
+        search.setOnFailed(event -> {
+            isComputerThinking = false;
+            Logger.error(search.getException(), "The computer could not find a move!");
+        });
+        Thread thread = new Thread(search, "computer-player");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void updateBoardStateOnGrid(PieceType pieceTypeToMove, Position sourcePosition, Position destinationPosition) {
         if (getNodeInGridByRowAndColumnIndex(gridPane, sourcePosition.row(), sourcePosition.col()).isPresent()) {
-            PieceType pieceTypeToMove = oldBoardState.getPiece(oldBoardState.getPieceIndexByPosition(sourcePosition).get()).getPieceType();
             ImageView pieceView = new ImageView();
             switch (pieceTypeToMove) {
                 case FOX -> pieceView.setImage(pieceImages.get(0));
@@ -200,8 +282,12 @@ public class TableGameController {
         var eventSource = (Node) mouseEvent.getSource();
         int rowIndex = GridPane.getRowIndex(eventSource);
         int columnIndex = GridPane.getColumnIndex(eventSource);
-        Position sourcePosition = new Position(rowIndex, columnIndex);
+        Position sourcePosition = Position.of(rowIndex, columnIndex);
         Logger.info("A square was clicked at {}", sourcePosition.toString());
+        if (isComputerThinking || isComputerToMove()) {
+            Logger.debug("The computer is to move!");
+            return;
+        }
         if (!boardState.isSquareEmpty(sourcePosition)) {
             positionOfPieceToMove = sourcePosition;
             isPieceChosen = true;
@@ -211,7 +297,7 @@ public class TableGameController {
                 Optional<Direction> directionToMoveIn = getDirectionFromClick(sourcePosition);
                 directionToMoveIn.ifPresent(direction -> {
                     Logger.debug("The chosen direction exists");
-                    makeMove(direction);
+                    makeMove(positionOfPieceToMove, direction);
                     isPieceChosen = false;
                 });
             }
@@ -229,15 +315,6 @@ public class TableGameController {
         }
     }
 
-    private void loadResults() {
-        try {
-            gameResultRepository.loadFromFile(new File("results.json"));
-            Logger.debug("Game results successfully loaded!");
-        } catch (IOException e) {
-            Logger.warn("Results could not be loaded!");
-        }
-    }
-
     private Optional<Node> getNodeInGridByRowAndColumnIndex(GridPane gridPane, Integer row, Integer col) {
         Optional<Node> square = Optional.empty();
         for (Node node : gridPane.getChildren()) {
@@ -256,30 +333,28 @@ public class TableGameController {
     }
 
     private Optional<Direction> getDirectionFromClick(Position destinationPosition) {
-        Direction directionToMoveIn = null;
-        try {
-            directionToMoveIn = Direction.of(destinationPosition.row() - positionOfPieceToMove.row(),
-                    destinationPosition.col() - positionOfPieceToMove.col());
-            Logger.debug("Direction to move in is: {}", directionToMoveIn);
-        } catch (IllegalArgumentException e) {
+        Direction directionToMoveIn = Direction.between(
+                Move.square(positionOfPieceToMove.row(), positionOfPieceToMove.col()),
+                Move.square(destinationPosition.row(), destinationPosition.col()));
+        if (directionToMoveIn == null) {
             Logger.warn("Direction is not valid!");
+        } else {
+            Logger.debug("Direction to move in is: {}", directionToMoveIn);
         }
         return Optional.ofNullable(directionToMoveIn);
     }
 
     private void createGameResult() {
-        try {
-            var gameResult = GameResult.builder()
-                    .playerOne(playerOneName)
-                    .playerTwo(playerTwoName)
-                    .winner(winnerName)
-                    .numberOfMoves(numberOfMoves.get())
-                    .timeOfPlay(ZonedDateTime.now())
-                    .build();
-            gameResultRepository.add(gameResult);
-            gameResultRepository.saveToFile(new File("results.json"));
+        var gameResult = GameResult.builder()
+                .playerOne(playerOneName)
+                .playerTwo(playerTwoName)
+                .winner(winnerName)
+                .numberOfMoves(numberOfMoves.get())
+                .timeOfPlay(ZonedDateTime.now())
+                .build();
+        if (TableGameApplication.getResultStore().add(gameResult)) {
             Logger.debug("Game result successfully created!");
-        } catch (IOException e) {
+        } else {
             Logger.warn("Results could not be saved!");
         }
     }
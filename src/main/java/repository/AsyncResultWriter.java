@@ -0,0 +1,167 @@
+package repository;
+
+import org.tinylog.Logger;
+import results.GameResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Represents a writer which appends the {@link GameResult} objects to a
+ * {@link BinaryResultLog} on its own thread, so the thread submitting the
+ * results, for example the JavaFX Application Thread, never waits for the disk.
+ * <p>
+ * The submitted results wait in a bounded queue. The writer thread takes all the
+ * results waiting in the queue at once, appends them with a single write, and
+ * forces the log to the storage device once per batch, so a burst of results
+ * costs a single sync. When the writer is closed, the results still waiting in the
+ * queue are written and the log is forced before the writer thread stops.
+ */
+public class AsyncResultWriter implements Closeable {
+
+    /**
+     * The default number of results which can wait in the queue.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final BinaryResultLog log;
+
+    private final BlockingQueue<GameResult> queue;
+
+    /**
+     * The results which have been submitted but not yet appended to the log,
+     * in the order of their submission.
+     */
+    private final ArrayDeque<GameResult> pending = new ArrayDeque<>();
+
+    /**
+     * The lock held while the results are appended to or read from the log, so
+     * a result is never both in the log and among the pending results for a reader.
+     * The submitting threads never acquire this lock.
+     */
+    private final Object logLock = new Object();
+
+    private final Thread writerThread;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates an {@code AsyncResultWriter} object and starts its writer thread.
+     * @param log The log to which the results are appended.
+     * @param capacity The number of results which can wait in the queue.
+     * @throws IllegalArgumentException If the capacity is less than 1.
+     */
+    public AsyncResultWriter(BinaryResultLog log, int capacity) {
+        this.log = log;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writerThread = new Thread(this::run, "result-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Submits a result to be appended to the log. This method does not wait
+     * for the result to be written.
+     * @param result The result to be appended.
+     * @return True if the result was submitted, false if the writer is closed
+     * or its queue is full.
+     */
+    public boolean submit(GameResult result) {
+        synchronized (pending) {
+            if (closed || !queue.offer(result)) {
+                Logger.error("The result could not be submitted to the result writer: {}", result);
+                return false;
+            }
+            pending.add(result);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the results of the log, followed by the results which have been submitted
+     * but not yet written, and passes them to the given consumer one by one.
+     * Every submitted result is passed exactly once.
+     * @param consumer The consumer of the results.
+     * @throws IOException If the log cannot be read.
+     */
+    public void readAll(Consumer<? super GameResult> consumer) throws IOException {
+        synchronized (logLock) {
+            log.readAll(consumer);
+            List<GameResult> unwritten;
+            synchronized (pending) {
+                unwritten = new ArrayList<>(pending);
+            }
+            unwritten.forEach(consumer);
+        }
+    }
+
+    private void run() {
+        List<GameResult> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                GameResult first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<GameResult> batch) {
+        try {
+            synchronized (logLock) {
+                try {
+                    log.appendAll(batch);
+                } finally {
+                    synchronized (pending) {
+                        for (int i = 0; i < batch.size(); i++) {
+                            pending.poll();
+                        }
+                    }
+                }
+            }
+            log.flush();
+            Logger.debug("{} results written to the result log", batch.size());
+        } catch (IOException e) {
+            Logger.error(e, "{} results could not be written to the result log!", batch.size());
+        }
+    }
+
+    /**
+     * Writes the results waiting in the queue, forces the log to the storage device,
+     * and stops the writer thread. The log itself is not closed. No more results can
+     * be submitted after this method is called. The writer thread is not interrupted,
+     * since an interrupt would close the file channel of the log.
+     */
+    @Override
+    public void close() {
+        synchronized (pending) {
+            closed = true;
+        }
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            Logger.error("The result writer did not stop in {} ms", CLOSE_TIMEOUT_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Represents a collector of the best elements of a stream of elements.
+ * At most {@code limit} elements are kept in a heap whose root is the worst
+ * of them, so collecting {@code n} elements takes {@code O(n log limit)}
+ * time and {@code O(limit)} memory. Of two equal elements, the one received
+ * earlier is considered better, as in a stable sort.
+ * @param <T> The type of the elements.
+ */
+public class BestElements<T> implements Consumer<T> {
+
+    private final int limit;
+
+    private final Comparator<? super T> order;
+
+    private final PriorityQueue<Entry<T>> heap;
+
+    private long received;
+
+    private record Entry<T>(T element, long sequence) {
+    }
+
+    /**
+     * Creates a {@code BestElements} object.
+     * @param limit The number of elements to be kept.
+     * @param order The order of the elements, in which the best element comes first.
+     * @throws IllegalArgumentException If the limit is negative.
+     */
+    public BestElements(int limit, Comparator<? super T> order) {
+        if (limit < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.limit = limit;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, limit), this::compareWorstFirst);
+    }
+
+    private int compareWorstFirst(Entry<T> first, Entry<T> second) {
+        int result = order.compare(second.element(), first.element());
+        return result != 0 ? result : Long.compare(second.sequence(), first.sequence());
+    }
+
+    /**
+     * Receives the next element, which is kept if it is among the best elements so far.
+     * @param element The element.
+     */
+    @Override
+    public void accept(T element) {
+        Entry<T> entry = new Entry<>(element, received++);
+        if (heap.size() < limit) {
+            heap.add(entry);
+        } else if (limit > 0 && compareWorstFirst(entry, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    /**
+     * @return The best elements received, with the best element first.
+     */
+    public List<T> toList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort((first, second) -> compareWorstFirst(second, first));
+        return entries.stream().map(Entry::element).toList();
+    }
+}
@@ -0,0 +1,309 @@
+package repository;
+
+import org.tinylog.Logger;
+import results.GameResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Represents an append-only log of {@link GameResult} objects stored in a binary file.
+ * The file starts with a header of two {@code int} values, the magic number and
+ * the version of the format, which is followed by the records of the results.
+ * A record consists of the length of its payload as an {@code int}, the payload,
+ * and the CRC-32 checksum of the payload as an {@code int}. Appending a result
+ * writes a single record to the end of the file, so its cost does not depend on
+ * the number of results in the log.
+ * <p>
+ * The file is only forced to the storage device after every {@code syncInterval}
+ * appended records and when the log is flushed or closed. The records written since
+ * the last sync survive a crash of the program, but may be lost, or partly written,
+ * if the operating system crashes. When the log is opened, the records are checked
+ * from the beginning, and the file is truncated after the last complete record
+ * whose checksum matches, so a torn record at the end is discarded.
+ */
+public class BinaryResultLog implements Closeable {
+
+    /**
+     * The magic number at the beginning of the log files.
+     */
+    public static final int MAGIC = 0x4643524C; // "FCRL"
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The largest payload of a record. Longer lengths are treated as corrupted records.
+     */
+    public static final int MAX_PAYLOAD_SIZE = 1 << 16;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int RECORD_OVERHEAD = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+
+    private final int syncInterval;
+
+    private long size;
+
+    private int recordCount;
+
+    private int unsyncedRecords;
+
+    private BinaryResultLog(FileChannel channel, int syncInterval) {
+        this.channel = channel;
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * Opens the log stored in the given file, or creates it if the file does not exist.
+     * A torn or corrupted record at the end of the file is removed.
+     * @param file The file of the log.
+     * @param syncInterval The number of appended records after which the file is
+     * forced to the storage device.
+     * @return The log stored in the file.
+     * @throws IOException If the file cannot be opened, or it is not a log file of
+     * the current version.
+     * @throws IllegalArgumentException If the sync interval is less than 1.
+     */
+    public static BinaryResultLog open(Path file, int syncInterval) throws IOException {
+        if (syncInterval < 1) {
+            throw new IllegalArgumentException();
+        }
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            BinaryResultLog log = new BinaryResultLog(channel, syncInterval);
+            log.recover(file);
+            return log;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void recover(Path file) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+            channel.truncate(0);
+            writeFully(header, 0);
+            channel.force(true);
+            size = HEADER_SIZE;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a result log file of version " + VERSION + ": " + file);
+        }
+        long position = HEADER_SIZE;
+        long fileSize = channel.size();
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        while (position + RECORD_OVERHEAD <= fileSize) {
+            lengthBuffer.clear();
+            readFully(lengthBuffer, position);
+            int length = lengthBuffer.getInt();
+            if (length < 0 || length > MAX_PAYLOAD_SIZE || position + RECORD_OVERHEAD + length > fileSize) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(length + Integer.BYTES);
+            readFully(record, position + Integer.BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 0, length);
+            if ((int) crc.getValue() != record.getInt(length)) {
+                break;
+            }
+            position += RECORD_OVERHEAD + length;
+            recordCount++;
+        }
+        if (position < fileSize) {
+            Logger.warn("Discarding {} bytes of a torn or corrupted record at the end of {}",
+                    fileSize - position, file);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        size = position;
+    }
+
+    /**
+     * Appends the given result to the end of the log.
+     * @param result The result to be appended.
+     * @throws IOException If the record cannot be written.
+     */
+    public void append(GameResult result) throws IOException {
+        appendAll(List.of(result));
+    }
+
+    /**
+     * Appends the given results to the end of the log with a single write,
+     * and forces the file to the storage device at most once.
+     * @param results The results to be appended, in order.
+     * @throws IOException If the records cannot be written.
+     */
+    public void appendAll(List<GameResult> results) throws IOException {
+        List<byte[]> payloads = new ArrayList<>(results.size());
+        int recordsSize = 0;
+        for (GameResult result : results) {
+            byte[] payload = encode(result);
+            if (payload.length > MAX_PAYLOAD_SIZE) {
+                throw new IOException("The result is too large to be logged: " + payload.length + " bytes");
+            }
+            payloads.add(payload);
+            recordsSize += RECORD_OVERHEAD + payload.length;
+        }
+        ByteBuffer records = ByteBuffer.allocate(recordsSize);
+        CRC32 crc = new CRC32();
+        for (byte[] payload : payloads) {
+            crc.reset();
+            crc.update(payload);
+            records.putInt(payload.length).put(payload).putInt((int) crc.getValue());
+        }
+        records.flip();
+        boolean sync;
+        synchronized (this) {
+            writeFully(records, size);
+            size += recordsSize;
+            recordCount += payloads.size();
+            unsyncedRecords += payloads.size();
+            sync = unsyncedRecords >= syncInterval;
+        }
+        if (sync) {
+            flush();
+        }
+    }
+
+    /**
+     * Forces the records appended since the last sync to the storage device.
+     * The records can be read while the file is forced.
+     * @throws IOException If the file cannot be forced.
+     */
+    public void flush() throws IOException {
+        synchronized (this) {
+            if (unsyncedRecords == 0) {
+                return;
+            }
+            unsyncedRecords = 0;
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Reads the results of the log in the order they were appended, and passes
+     * them to the given consumer one by one.
+     * @param consumer The consumer of the results.
+     * @throws IOException If the file cannot be read.
+     */
+    public synchronized void readAll(Consumer<? super GameResult> consumer) throws IOException {
+        long position = HEADER_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_PAYLOAD_SIZE + RECORD_OVERHEAD);
+        while (position < size) {
+            buffer.clear().limit(Integer.BYTES);
+            readFully(buffer, position);
+            int length = buffer.getInt(0);
+            buffer.clear().limit(length);
+            readFully(buffer, position + Integer.BYTES);
+            consumer.accept(decode(buffer.array(), length));
+            position += RECORD_OVERHEAD + length;
+        }
+    }
+
+    /**
+     * Returns the number of results in the log.
+     * @return The number of results.
+     */
+    public synchronized int size() {
+        return recordCount;
+    }
+
+    /**
+     * Flushes the log and closes its file.
+     * @throws IOException If the file cannot be forced or closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the result log");
+            }
+        }
+        buffer.flip();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static byte[] encode(GameResult result) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeNullableString(out, result.getPlayerOne());
+            writeNullableString(out, result.getPlayerTwo());
+            writeNullableString(out, result.getWinner());
+            out.writeInt(result.getNumberOfMoves());
+            ZonedDateTime timeOfPlay = result.getTimeOfPlay();
+            out.writeBoolean(timeOfPlay != null);
+            if (timeOfPlay != null) {
+                out.writeLong(timeOfPlay.toEpochSecond());
+                out.writeInt(timeOfPlay.getNano());
+                out.writeUTF(timeOfPlay.getZone().getId());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static GameResult decode(byte[] payload, int length) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 0, length))) {
+            GameResult.GameResultBuilder builder = GameResult.builder()
+                    .playerOne(readNullableString(in))
+                    .playerTwo(readNullableString(in))
+                    .winner(readNullableString(in))
+                    .numberOfMoves(in.readInt());
+            if (in.readBoolean()) {
+                Instant instant = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                builder.timeOfPlay(ZonedDateTime.ofInstant(instant, ZoneId.of(in.readUTF())));
+            }
+            return builder.build();
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -2,14 +2,64 @@ package repository;
 
 import results.GameResult;
 
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 
 /**
  * Represents a repository or collection of {@link GameResult} objects.
+ * <p>
+ * The results are also kept in a leaderboard, which is a sorted map from the
+ * results to the number of their occurrences in the order of
+ * {@link #BEST_RESULTS_FIRST}. The leaderboard is updated when a result is
+ * added or removed in {@code O(log n)} time, so the best {@code a} results can
+ * be read in {@code O(a)} time without sorting the results.
+ * <p>
+ * The results are also indexed by the names of their players, by the name of
+ * their winner and by their time of play, so the results of a player, the wins
+ * of a player and the results played in a period of time are found without
+ * examining the other results. The results must not be modified while they
+ * are in the repository.
  */
 public class GameResultRepository extends GsonRepository<GameResult> {
 
+    /**
+     * The order of the results in which the best result comes first. A result
+     * is better if it took fewer moves, and of two results with the same
+     * number of moves, the more recent one is better. The results played at
+     * the same time are ordered by the names of the players and the winner,
+     * so only equal results are equal in this order.
+     */
+    public static final Comparator<GameResult> BEST_RESULTS_FIRST =
+            Comparator.comparingInt(GameResult::getNumberOfMoves)
+                    .thenComparing(GameResult::getTimeOfPlay, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(GameResult::getPlayerOne, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(GameResult::getPlayerTwo, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(GameResult::getWinner, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final TreeMap<GameResult, Integer> leaderboard = new TreeMap<>(BEST_RESULTS_FIRST);
+
+    /**
+     * The results of every player, in the order they were added, whichever side the player played.
+     */
+    private final Map<String, List<GameResult>> resultsByPlayer = new HashMap<>();
+
+    private final Map<String, List<GameResult>> resultsByWinner = new HashMap<>();
+
+    /**
+     * The results with a time of play, ordered by the instant of their time of play.
+     */
+    private final TreeMap<Instant, List<GameResult>> resultsByTime = new TreeMap<>();
+
     /**
      * Creates a {@code GameResultRepository} object
      * that can contain {@code GameResult} objects.
@@ -18,6 +68,24 @@ public class GameResultRepository extends GsonRepository<GameResult> {
         super(GameResult.class);
     }
 
+    /**
+     * Loads the results of the given log and adds them to the repository.
+     * @param log The log from which the results should be loaded.
+     * @throws IOException If the log cannot be read.
+     */
+    public void loadFromLog(BinaryResultLog log) throws IOException {
+        log.readAll(this::add);
+    }
+
+    /**
+     * Adds the results of a {@link ResultArchive} to the repository, in the order they were archived.
+     * @param archive The archive of the results.
+     * @throws IOException If the archive cannot be read.
+     */
+    public void loadFromArchive(ResultArchive archive) throws IOException {
+        archive.readAll(this::add);
+    }
+
     /**
      * Returns the best {@code a} game results from
      * the previous games.
@@ -27,11 +95,138 @@ public class GameResultRepository extends GsonRepository<GameResult> {
      * previous games.
      */
     public List<GameResult> findBestResults(int a) {
-        return elements.stream()
-                .sorted(Comparator.comparingInt(GameResult::getNumberOfMoves)
-                        .thenComparing(GameResult::getTimeOfPlay, Comparator.reverseOrder()))
-                .limit(a)
+        List<GameResult> bestResults = new ArrayList<>(Math.min(a, elements.size()));
+        for (Map.Entry<GameResult, Integer> entry : leaderboard.entrySet()) {
+            for (int i = 0; i < entry.getValue() && bestResults.size() < a; i++) {
+                bestResults.add(entry.getKey());
+            }
+            if (bestResults.size() >= a) {
+                break;
+            }
+        }
+        return Collections.unmodifiableList(bestResults);
+    }
+
+    /**
+     * Returns the best {@code a} game results saved in the given JSON file.
+     * The results are read one by one, and only the best {@code a} results
+     * are kept in memory.
+     * @param file The JSON file of the results.
+     * @param a The number of results to be obtained.
+     * @return A {@code List} of the best {@code a} results of the file,
+     * with the best result first.
+     * @throws IOException If the file cannot be read.
+     */
+    public List<GameResult> findBestResults(File file, int a) throws IOException {
+        BestElements<GameResult> bestResults = new BestElements<>(a, BEST_RESULTS_FIRST);
+        forEachInFile(file, bestResults);
+        return bestResults.toList();
+    }
+
+    /**
+     * Returns the results of the games played by the given player on either side.
+     * @param player The name of the player.
+     * @return The results of the player, in the order they were added.
+     */
+    public List<GameResult> findByPlayer(String player) {
+        return List.copyOf(resultsByPlayer.getOrDefault(player, List.of()));
+    }
+
+    /**
+     * Returns the results of the games in which the given player was the first player.
+     * Only the results of the player are examined.
+     * @param player The name of the player.
+     * @return The results of the player as the first player, in the order they were added.
+     */
+    public List<GameResult> findByPlayerOne(String player) {
+        return resultsByPlayer.getOrDefault(player, List.of()).stream()
+                .filter(result -> player.equals(result.getPlayerOne()))
+                .toList();
+    }
+
+    /**
+     * Returns the results of the games in which the given player was the second player.
+     * Only the results of the player are examined.
+     * @param player The name of the player.
+     * @return The results of the player as the second player, in the order they were added.
+     */
+    public List<GameResult> findByPlayerTwo(String player) {
+        return resultsByPlayer.getOrDefault(player, List.of()).stream()
+                .filter(result -> player.equals(result.getPlayerTwo()))
                 .toList();
     }
 
+    /**
+     * Returns the results of the games won by the given player.
+     * @param player The name of the player.
+     * @return The results of the wins of the player, in the order they were added.
+     */
+    public List<GameResult> findWinsBy(String player) {
+        return List.copyOf(resultsByWinner.getOrDefault(player, List.of()));
+    }
+
+    /**
+     * Returns the results of the games finished in the given period of time.
+     * @param from The beginning of the period, inclusive.
+     * @param to The end of the period, exclusive.
+     * @return The results of the period, in the order of their time of play.
+     */
+    public List<GameResult> findPlayedBetween(ZonedDateTime from, ZonedDateTime to) {
+        Instant start = from.toInstant();
+        Instant end = to.toInstant();
+        if (!start.isBefore(end)) {
+            return List.of();
+        }
+        List<GameResult> results = new ArrayList<>();
+        resultsByTime.subMap(start, true, end, false).values().forEach(results::addAll);
+        return Collections.unmodifiableList(results);
+    }
+
+    @Override
+    protected void elementAdded(GameResult element) {
+        leaderboard.merge(element, 1, Integer::sum);
+        addToIndex(resultsByPlayer, element.getPlayerOne(), element);
+        if (!Objects.equals(element.getPlayerOne(), element.getPlayerTwo())) {
+            addToIndex(resultsByPlayer, element.getPlayerTwo(), element);
+        }
+        addToIndex(resultsByWinner, element.getWinner(), element);
+        if (element.getTimeOfPlay() != null) {
+            addToIndex(resultsByTime, element.getTimeOfPlay().toInstant(), element);
+        }
+    }
+
+    @Override
+    protected void elementRemoved(GameResult element) {
+        leaderboard.computeIfPresent(element, (result, count) -> count == 1 ? null : count - 1);
+        removeFromIndex(resultsByPlayer, element.getPlayerOne(), element);
+        if (!Objects.equals(element.getPlayerOne(), element.getPlayerTwo())) {
+            removeFromIndex(resultsByPlayer, element.getPlayerTwo(), element);
+        }
+        removeFromIndex(resultsByWinner, element.getWinner(), element);
+        if (element.getTimeOfPlay() != null) {
+            removeFromIndex(resultsByTime, element.getTimeOfPlay().toInstant(), element);
+        }
+    }
+
+    @Override
+    protected void elementsReset() {
+        leaderboard.clear();
+        resultsByPlayer.clear();
+        resultsByWinner.clear();
+        resultsByTime.clear();
+        elements.forEach(this::elementAdded);
+    }
+
+    private static <K> void addToIndex(Map<K, List<GameResult>> index, K key, GameResult result) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(result);
+        }
+    }
+
+    private static <K> void removeFromIndex(Map<K, List<GameResult>> index, K key, GameResult result) {
+        if (key != null) {
+            index.computeIfPresent(key, (k, results) -> results.remove(result) && results.isEmpty() ? null : results);
+        }
+    }
+
 }
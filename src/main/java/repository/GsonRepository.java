@@ -4,19 +4,24 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
-import java.util.List;
+import java.util.ArrayList;
+import java.util.function.Consumer;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Represents a repository of objects of the same type.
  * The elements can also be loaded from a file and stored in the repository.
  * Furthermore, the elements in the repository can be saved to a file
- * in JSON format.
+ * in JSON format, encoded in UTF-8. The files are read element by element, so the elements
+ * of a file can also be processed without storing all of them in memory.
  * @param <T> The type of objects the repository holds.
  */
 public class GsonRepository<T> extends Repository<T> {
@@ -45,9 +50,33 @@ public class GsonRepository<T> extends Repository<T> {
      * rather than a regular file.
      */
     public void loadFromFile(File file) throws IOException {
-        try (var reader = new FileReader(file)) {
-            var listType = TypeToken.getParameterized(List.class, elementType).getType();
-            elements = GSON.fromJson(reader, listType);
+        var loadedElements = new ArrayList<T>();
+        forEachInFile(file, loadedElements::add);
+        elements = loadedElements;
+        elementsReset();
+    }
+
+    /**
+     * Reads the elements of a JSON file one by one, and passes them to the
+     * given consumer without storing them in the repository.
+     * @param file The file from which the elements should be read.
+     * @param consumer The consumer of the elements.
+     * @throws IOException if the {@code file} does not exist, the
+     * {@code file} cannot be read or does not contain a JSON array of elements,
+     * or the {@code file} is a directory rather than a regular file.
+     */
+    public void forEachInFile(File file, Consumer<? super T> consumer) throws IOException {
+        try (var reader = new JsonReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            if (reader.peek() == JsonToken.NULL) {
+                return;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                consumer.accept(GSON.fromJson(reader, elementType));
+            }
+            reader.endArray();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Invalid JSON file: " + file, e);
         }
     }
 
@@ -61,7 +90,7 @@ public class GsonRepository<T> extends Repository<T> {
      * cannot be opened for some reason.
      */
     public void saveToFile(File file) throws IOException {
-        try (var writer = new FileWriter(file)) {
+        try (var writer = new FileWriter(file, StandardCharsets.UTF_8)) {
             GSON.toJson(elements, writer);
         }
     }
@@ -7,6 +7,9 @@ import java.util.function.Predicate;
 
 /**
  * Represents a collection or repository of objects of the same type.
+ * The subclasses can maintain indexes of the elements by overriding the
+ * methods {@link #elementAdded(Object)}, {@link #elementRemoved(Object)} and
+ * {@link #elementsReset()}, which are called after every change of the elements.
  * @param <T> The type of the objects the repository holds.
  */
 public abstract class Repository<T> {
@@ -33,6 +36,7 @@ public abstract class Repository<T> {
      */
     public void add(T element) {
         elements.add(element);
+        elementAdded(element);
     }
 
     /**
@@ -40,7 +44,11 @@ public abstract class Repository<T> {
      * @param element The element to be removed from the repository.
      */
     public void remove(T element) {
-        elements.remove(element);
+        int index = elements.indexOf(element);
+        if (index >= 0) {
+            T removed = elements.remove(index);
+            elementRemoved(removed);
+        }
     }
 
     /**
@@ -48,6 +56,28 @@ public abstract class Repository<T> {
      */
     public void clear() {
         elements.clear();
+        elementsReset();
+    }
+
+    /**
+     * Called after an element was added to the repository.
+     * @param element The added element.
+     */
+    protected void elementAdded(T element) {
+    }
+
+    /**
+     * Called after an element was removed from the repository.
+     * @param element The removed element.
+     */
+    protected void elementRemoved(T element) {
+    }
+
+    /**
+     * Called after the elements of the repository were cleared or replaced.
+     * The overriding methods should rebuild their indexes from {@code elements}.
+     */
+    protected void elementsReset() {
     }
 
     /**
@@ -0,0 +1,476 @@
+package repository;
+
+import results.GameResult;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Represents a read-only archive of {@link GameResult} objects stored column by column
+ * in a binary file, which is much smaller than the JSON file of the same results.
+ * <p>
+ * The file starts with a header of four {@code int} values, the magic number, the
+ * version of the format, the number of results and the number of columns, which is
+ * followed by the directory of the columns. For each column, the directory holds its
+ * offset as a {@code long}, its length and the CRC-32 checksum of its bytes as
+ * {@code int} values, so a single column can be read without reading the others.
+ * <p>
+ * The names of the players are stored once in a dictionary, and the name columns
+ * hold their indexes. The numbers of moves are packed with the number of bits of the
+ * largest of them. The times of play are stored as the differences between the epoch
+ * milliseconds of consecutive results, the remaining nanoseconds of the milliseconds,
+ * and the indexes of their time zones in a second dictionary. The integers are written
+ * in the variable-length format of seven bits per byte, and the signed ones are
+ * zigzag encoded first, so small values take a single byte.
+ */
+public class ResultArchive implements Closeable {
+
+    /**
+     * The magic number at the beginning of the archive files.
+     */
+    public static final int MAGIC = 0x46435241; // "FCRA"
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The epoch milliseconds returned for the results without a time of play.
+     */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    /**
+     * The columns of the names of the players.
+     */
+    public enum NameColumn {
+        /**
+         * The column of the names of the first players.
+         */
+        PLAYER_ONE,
+        /**
+         * The column of the names of the second players.
+         */
+        PLAYER_TWO,
+        /**
+         * The column of the names of the winners.
+         */
+        WINNER
+    }
+
+    private enum Section {
+        NAMES, PLAYER_ONE, PLAYER_TWO, WINNER, NUMBER_OF_MOVES, EPOCH_MILLIS, NANOS_OF_MILLI, ZONES, ZONE
+    }
+
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    private static final int DIRECTORY_ENTRY_SIZE = Long.BYTES + 2 * Integer.BYTES;
+
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    private final FileChannel channel;
+
+    private final int size;
+
+    private final long[] offsets = new long[Section.values().length];
+
+    private final int[] lengths = new int[Section.values().length];
+
+    private final int[] checksums = new int[Section.values().length];
+
+    private ResultArchive(FileChannel channel, int size) {
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Writes the given results to an archive file. An existing file is replaced.
+     * @param file The file of the archive.
+     * @param results The results to be archived, in order.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, Collection<GameResult> results) throws IOException {
+        Map<String, Integer> names = new LinkedHashMap<>();
+        Map<String, Integer> zones = new LinkedHashMap<>();
+        ColumnBuffer[] columns = new ColumnBuffer[Section.values().length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new ColumnBuffer();
+        }
+        int movesBits = 0;
+        long previousMillis = 0;
+        for (GameResult result : results) {
+            columns[Section.PLAYER_ONE.ordinal()].writeVarint(indexOf(names, result.getPlayerOne()));
+            columns[Section.PLAYER_TWO.ordinal()].writeVarint(indexOf(names, result.getPlayerTwo()));
+            columns[Section.WINNER.ordinal()].writeVarint(indexOf(names, result.getWinner()));
+            movesBits |= zigzag(result.getNumberOfMoves());
+            ZonedDateTime timeOfPlay = result.getTimeOfPlay();
+            long millis = timeOfPlay == null ? previousMillis : timeOfPlay.toInstant().toEpochMilli();
+            columns[Section.EPOCH_MILLIS.ordinal()].writeVarint(zigzag(millis - previousMillis));
+            columns[Section.NANOS_OF_MILLI.ordinal()].writeVarint(
+                    timeOfPlay == null ? 0 : timeOfPlay.getNano() % NANOS_PER_MILLI);
+            columns[Section.ZONE.ordinal()].writeVarint(
+                    indexOf(zones, timeOfPlay == null ? null : timeOfPlay.getZone().getId()));
+            previousMillis = millis;
+        }
+        columns[Section.NUMBER_OF_MOVES.ordinal()].writePacked(results, movesBits);
+        columns[Section.NAMES.ordinal()].writeDictionary(names);
+        columns[Section.ZONES.ordinal()].writeDictionary(zones);
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(results.size());
+            out.writeInt(columns.length);
+            long offset = HEADER_SIZE + (long) columns.length * DIRECTORY_ENTRY_SIZE;
+            CRC32 crc = new CRC32();
+            for (ColumnBuffer column : columns) {
+                crc.reset();
+                crc.update(column.buffer(), 0, column.size());
+                out.writeLong(offset);
+                out.writeInt(column.size());
+                out.writeInt((int) crc.getValue());
+                offset += column.size();
+            }
+            for (ColumnBuffer column : columns) {
+                column.writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Opens the archive stored in the given file. Only the header and the directory
+     * of the columns are read.
+     * @param file The file of the archive.
+     * @return The archive stored in the file.
+     * @throws IOException If the file cannot be opened, or it is not an archive file
+     * of the current version.
+     */
+    public static ResultArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            int directorySize = Section.values().length * DIRECTORY_ENTRY_SIZE;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + directorySize);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Not a result archive file: " + file);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a result archive file of version " + VERSION + ": " + file);
+            }
+            int size = header.getInt();
+            if (size < 0 || header.getInt() != Section.values().length) {
+                throw new IOException("Invalid header of the result archive: " + file);
+            }
+            ResultArchive archive = new ResultArchive(channel, size);
+            for (int i = 0; i < Section.values().length; i++) {
+                archive.offsets[i] = header.getLong();
+                archive.lengths[i] = header.getInt();
+                archive.checksums[i] = header.getInt();
+                if (archive.offsets[i] < 0 || archive.lengths[i] < 0
+                        || archive.offsets[i] > channel.size() - archive.lengths[i]) {
+                    throw new IOException("Invalid directory of the result archive: " + file);
+                }
+            }
+            return archive;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of results in the archive.
+     * @return The number of results.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reads a column of names. The equal names are the same {@code String} objects.
+     * @param column The column to be read.
+     * @return The names of the column, with {@code null} for the missing names, in the order of the results.
+     * @throws IOException If the column cannot be read or is corrupted.
+     */
+    public String[] readNames(NameColumn column) throws IOException {
+        return readDictionaryColumn(readDictionary(Section.NAMES), Section.valueOf(column.name()));
+    }
+
+    /**
+     * Reads the numbers of moves.
+     * @return The numbers of moves, in the order of the results.
+     * @throws IOException If the column cannot be read or is corrupted.
+     */
+    public int[] readNumberOfMoves() throws IOException {
+        ByteBuffer buffer = readSection(Section.NUMBER_OF_MOVES);
+        int[] numbersOfMoves = new int[size];
+        int width = buffer.hasRemaining() ? buffer.get() : -1;
+        if (width < 0 || width > Integer.SIZE || buffer.remaining() < ((long) size * width + 7) / 8) {
+            throw new IOException("Corrupted column of the result archive: " + Section.NUMBER_OF_MOVES);
+        }
+        long mask = (1L << width) - 1;
+        long bits = 0;
+        int bitCount = 0;
+        for (int i = 0; i < size; i++) {
+            while (bitCount < width) {
+                bits |= (buffer.get() & 0xFFL) << bitCount;
+                bitCount += 8;
+            }
+            numbersOfMoves[i] = unzigzag((int) (bits & mask));
+            bits >>>= width;
+            bitCount -= width;
+        }
+        return numbersOfMoves;
+    }
+
+    /**
+     * Reads the epoch milliseconds of the times of play, without their time zones
+     * and the nanoseconds within the milliseconds.
+     * @return The epoch milliseconds of the times of play, with {@link #NO_TIME} for
+     * the missing times, in the order of the results.
+     * @throws IOException If the columns cannot be read or are corrupted.
+     */
+    public long[] readEpochMillis() throws IOException {
+        long[] millis = readMillis();
+        ByteBuffer zones = readSection(Section.ZONE);
+        for (int i = 0; i < size; i++) {
+            if (readVarint(zones) == 0) {
+                millis[i] = NO_TIME;
+            }
+        }
+        return millis;
+    }
+
+    /**
+     * Reads all the results of the archive, and passes them to the given consumer one by one.
+     * @param consumer The consumer of the results.
+     * @throws IOException If the columns cannot be read or are corrupted.
+     */
+    public void readAll(Consumer<? super GameResult> consumer) throws IOException {
+        String[] names = readDictionary(Section.NAMES);
+        String[] playerOnes = readDictionaryColumn(names, Section.PLAYER_ONE);
+        String[] playerTwos = readDictionaryColumn(names, Section.PLAYER_TWO);
+        String[] winners = readDictionaryColumn(names, Section.WINNER);
+        int[] numbersOfMoves = readNumberOfMoves();
+        long[] millis = readMillis();
+        ByteBuffer nanos = readSection(Section.NANOS_OF_MILLI);
+        String[] zoneIds = readDictionaryColumn(readDictionary(Section.ZONES), Section.ZONE);
+        Map<String, ZoneId> zones = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            long nanosOfMilli = readVarint(nanos);
+            ZonedDateTime timeOfPlay = null;
+            if (zoneIds[i] != null) {
+                try {
+                    Instant instant = Instant.ofEpochMilli(millis[i]).plusNanos(nanosOfMilli);
+                    timeOfPlay = ZonedDateTime.ofInstant(instant, zones.computeIfAbsent(zoneIds[i], ZoneId::of));
+                } catch (DateTimeException e) {
+                    throw new IOException("Invalid time of play in the result archive", e);
+                }
+            }
+            consumer.accept(GameResult.builder()
+                    .playerOne(playerOnes[i])
+                    .playerTwo(playerTwos[i])
+                    .winner(winners[i])
+                    .numberOfMoves(numbersOfMoves[i])
+                    .timeOfPlay(timeOfPlay)
+                    .build());
+        }
+    }
+
+    /**
+     * Archives the results of a JSON file, and prints the sizes of the two files.
+     * @param args The path of the JSON file and the path of the archive.
+     * @throws IOException If the JSON file cannot be read or the archive cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ResultArchive <JSON file> <archive file>");
+            return;
+        }
+        File jsonFile = new File(args[0]);
+        Path archiveFile = Path.of(args[1]);
+        List<GameResult> results = new ArrayList<>();
+        new GameResultRepository().forEachInFile(jsonFile, results::add);
+        write(archiveFile, results);
+        System.out.printf("%,d results: %,d bytes of JSON, %,d bytes archived%n",
+                results.size(), jsonFile.length(), Files.size(archiveFile));
+    }
+
+    /**
+     * Closes the file of the archive.
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long[] readMillis() throws IOException {
+        ByteBuffer buffer = readSection(Section.EPOCH_MILLIS);
+        long[] millis = new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += unzigzag(readVarint(buffer));
+            millis[i] = previous;
+        }
+        return millis;
+    }
+
+    private String[] readDictionary(Section section) throws IOException {
+        ByteBuffer buffer = readSection(section);
+        String[] dictionary = new String[readLength(buffer, section)];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] bytes = new byte[readLength(buffer, section)];
+            buffer.get(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+
+    private String[] readDictionaryColumn(String[] dictionary, Section section) throws IOException {
+        ByteBuffer buffer = readSection(section);
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            long index = readVarint(buffer);
+            if (index > dictionary.length) {
+                throw new IOException("Corrupted column of the result archive: " + section);
+            }
+            values[i] = index == 0 ? null : dictionary[(int) index - 1];
+        }
+        return values;
+    }
+
+    private ByteBuffer readSection(Section section) throws IOException {
+        int i = section.ordinal();
+        ByteBuffer buffer = ByteBuffer.allocate(lengths[i]);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offsets[i] + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the result archive");
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array());
+        if ((int) crc.getValue() != checksums[i]) {
+            throw new IOException("Corrupted column of the result archive: " + section);
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Reads a length or a number of entries, which cannot be larger than the number of the remaining bytes.
+     * @param buffer The bytes of the column.
+     * @param section The column being read.
+     * @return The length or the number of entries.
+     * @throws IOException If the value is larger than the number of the remaining bytes.
+     */
+    private static int readLength(ByteBuffer buffer, Section section) throws IOException {
+        long length = readVarint(buffer);
+        if (length > buffer.remaining()) {
+            throw new IOException("Corrupted column of the result archive: " + section);
+        }
+        return (int) length;
+    }
+
+    private static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("Unexpected end of a column of the result archive");
+            }
+            byte b = buffer.get();
+            value |= (b & 0x7FL) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid integer in a column of the result archive");
+    }
+
+    private static int indexOf(Map<String, Integer> dictionary, String value) {
+        return value == null ? 0 : dictionary.computeIfAbsent(value, key -> dictionary.size() + 1);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * The bytes of a column while the archive is written.
+     */
+    private static class ColumnBuffer extends ByteArrayOutputStream {
+
+        private byte[] buffer() {
+            return buf;
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void writePacked(Collection<GameResult> results, int allBits) {
+            int width = Integer.SIZE - Integer.numberOfLeadingZeros(allBits);
+            write(width);
+            long bits = 0;
+            int bitCount = 0;
+            for (GameResult result : results) {
+                bits |= (zigzag(result.getNumberOfMoves()) & 0xFFFFFFFFL) << bitCount;
+                bitCount += width;
+                while (bitCount >= 8) {
+                    write((int) bits);
+                    bits >>>= 8;
+                    bitCount -= 8;
+                }
+            }
+            if (bitCount > 0) {
+                write((int) bits);
+            }
+        }
+
+        private void writeDictionary(Map<String, Integer> dictionary) {
+            writeVarint(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(bytes.length);
+                write(bytes, 0, bytes.length);
+            }
+        }
+    }
+}
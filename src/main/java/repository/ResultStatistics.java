@@ -0,0 +1,168 @@
+package repository;
+
+import results.GameResult;
+import results.HeadToHead;
+import results.PlayerStatistics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Represents the statistics of the players, which are updated as the results of
+ * the games are received, so the statistics of a player are read in constant time
+ * and all the statistics are built in a single pass over the results, for example
+ * while the results are read from a file or a {@link BinaryResultLog}.
+ * <p>
+ * The streaks of the players depend on the order of the results, so the results
+ * are expected in the order the games were played. The statistics cannot be updated
+ * when a result is removed, they are built again instead.
+ */
+public class ResultStatistics implements Consumer<GameResult> {
+
+    private final Map<String, Aggregate> players = new HashMap<>();
+
+    /**
+     * The number of games and wins of the players against each opponent, by the name
+     * of the player and the name of the opponent.
+     */
+    private final Map<String, Map<String, int[]>> headToHead = new HashMap<>();
+
+    private static class Aggregate {
+
+        private int gamesAsDogs;
+
+        private int winsAsDogs;
+
+        private int gamesAsFox;
+
+        private int winsAsFox;
+
+        private long totalMoves;
+
+        private int bestWinMoves;
+
+        private int currentWinStreak;
+
+        private int longestWinStreak;
+
+        private void add(boolean dogs, boolean won, int numberOfMoves) {
+            if (dogs) {
+                gamesAsDogs++;
+            } else {
+                gamesAsFox++;
+            }
+            totalMoves += numberOfMoves;
+            if (won) {
+                if (dogs) {
+                    winsAsDogs++;
+                } else {
+                    winsAsFox++;
+                }
+                if (bestWinMoves == 0 || numberOfMoves < bestWinMoves) {
+                    bestWinMoves = numberOfMoves;
+                }
+                currentWinStreak++;
+                longestWinStreak = Math.max(longestWinStreak, currentWinStreak);
+            } else {
+                currentWinStreak = 0;
+            }
+        }
+
+        private PlayerStatistics toStatistics(String player) {
+            return new PlayerStatistics(player, gamesAsDogs, winsAsDogs, gamesAsFox, winsAsFox,
+                    totalMoves, bestWinMoves, currentWinStreak, longestWinStreak);
+        }
+    }
+
+    /**
+     * Updates the statistics of the players of the given result.
+     * The results without the name of a player are only counted for the other player.
+     * @param result The result of the next game.
+     */
+    @Override
+    public void accept(GameResult result) {
+        String dogs = result.getPlayerOne();
+        String fox = result.getPlayerTwo();
+        String winner = result.getWinner();
+        if (dogs != null) {
+            players.computeIfAbsent(dogs, player -> new Aggregate())
+                    .add(true, dogs.equals(winner), result.getNumberOfMoves());
+        }
+        if (fox != null && !fox.equals(dogs)) {
+            players.computeIfAbsent(fox, player -> new Aggregate())
+                    .add(false, fox.equals(winner), result.getNumberOfMoves());
+            if (dogs != null) {
+                addHeadToHead(dogs, fox, dogs.equals(winner));
+                addHeadToHead(fox, dogs, fox.equals(winner));
+            }
+        }
+    }
+
+    private void addHeadToHead(String player, String opponent, boolean won) {
+        int[] record = headToHead.computeIfAbsent(player, name -> new HashMap<>())
+                .computeIfAbsent(opponent, name -> new int[2]);
+        record[0]++;
+        if (won) {
+            record[1]++;
+        }
+    }
+
+    /**
+     * Returns the statistics of the given player.
+     * @param player The name of the player.
+     * @return The statistics of the player, or an empty {@code Optional} if the player
+     * has not played any games.
+     */
+    public Optional<PlayerStatistics> getPlayerStatistics(String player) {
+        return Optional.ofNullable(players.get(player)).map(aggregate -> aggregate.toStatistics(player));
+    }
+
+    /**
+     * Returns the statistics of all the players.
+     * @return The statistics of the players, in the alphabetical order of their names.
+     */
+    public List<PlayerStatistics> getAllPlayerStatistics() {
+        return players.entrySet().stream()
+                .map(entry -> entry.getValue().toStatistics(entry.getKey()))
+                .sorted(Comparator.comparing(PlayerStatistics::player))
+                .toList();
+    }
+
+    /**
+     * Returns the record of a player against an opponent.
+     * @param player The name of the player.
+     * @param opponent The name of the opponent.
+     * @return The record of the player against the opponent, with no games if they
+     * have not played against each other.
+     */
+    public HeadToHead getHeadToHead(String player, String opponent) {
+        int[] record = headToHead.getOrDefault(player, Map.of()).get(opponent);
+        if (record == null) {
+            return new HeadToHead(player, opponent, 0, 0, 0);
+        }
+        int[] opponentRecord = headToHead.get(opponent).get(player);
+        return new HeadToHead(player, opponent, record[0], record[1], opponentRecord[1]);
+    }
+
+    /**
+     * Returns the names of the players.
+     * @return An unmodifiable view of the names of the players.
+     */
+    public Collection<String> getPlayers() {
+        return Collections.unmodifiableSet(players.keySet());
+    }
+
+    /**
+     * Forgets the statistics of all the players, so they can be built again.
+     */
+    public void clear() {
+        players.clear();
+        headToHead.clear();
+    }
+}
@@ -0,0 +1,191 @@
+package repository;
+
+import org.tinylog.Logger;
+import results.GameResult;
+import results.HeadToHead;
+import results.PlayerStatistics;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Represents the store of the results of the games, which is shared by the views
+ * of the application. The results are loaded into a {@link GameResultRepository}
+ * once, from the results saved in JSON format by the earlier versions of the game
+ * and from the result log. A new result is added to the repository in memory
+ * and submitted to the {@link AsyncResultWriter} of the log, so the views can read
+ * the results without reading any file. The {@link ResultStatistics} of the players
+ * are built in the same pass over the results as the repository, and are updated
+ * as the new results are added.
+ * <p>
+ * The JSON file can be edited by other programs. Its modification time and length
+ * are remembered when it is loaded, and the results are loaded again when either
+ * of them changes. The result log is written only by this application while it runs,
+ * so it is not checked for changes.
+ */
+public class ResultStore {
+
+    private final File jsonFile;
+
+    private final AsyncResultWriter writer;
+
+    private final GameResultRepository repository = new GameResultRepository();
+
+    private final ResultStatistics statistics = new ResultStatistics();
+
+    private boolean loaded;
+
+    private long jsonLastModified;
+
+    private long jsonLength;
+
+    /**
+     * Creates a {@code ResultStore} object. The results are loaded when they are first needed.
+     * @param jsonFile The JSON file of the results saved by the earlier versions of the game.
+     * @param writer The writer of the result log, or {@code null} if the results
+     * are only kept in memory.
+     */
+    public ResultStore(File jsonFile, AsyncResultWriter writer) {
+        this.jsonFile = jsonFile;
+        this.writer = writer;
+    }
+
+    /**
+     * Adds a new result to the store, and submits it to the writer of the result log.
+     * @param result The new result.
+     * @return True if the result was submitted to the writer, false if it is only kept in memory.
+     */
+    public synchronized boolean add(GameResult result) {
+        refreshIfChanged();
+        repository.add(result);
+        statistics.accept(result);
+        return writer != null && writer.submit(result);
+    }
+
+    /**
+     * Returns the best results, see {@link GameResultRepository#findBestResults(int)}.
+     * @param a The number of results to be obtained.
+     * @return The best {@code a} results, with the best result first.
+     */
+    public synchronized List<GameResult> findBestResults(int a) {
+        refreshIfChanged();
+        return repository.findBestResults(a);
+    }
+
+    /**
+     * Returns the results of the given player, see {@link GameResultRepository#findByPlayer(String)}.
+     * @param player The name of the player.
+     * @return The results of the player, in the order they were loaded and added.
+     */
+    public synchronized List<GameResult> findByPlayer(String player) {
+        refreshIfChanged();
+        return repository.findByPlayer(player);
+    }
+
+    /**
+     * Returns the wins of the given player, see {@link GameResultRepository#findWinsBy(String)}.
+     * @param player The name of the player.
+     * @return The results of the wins of the player, in the order they were loaded and added.
+     */
+    public synchronized List<GameResult> findWinsBy(String player) {
+        refreshIfChanged();
+        return repository.findWinsBy(player);
+    }
+
+    /**
+     * Returns the results of the given period of time,
+     * see {@link GameResultRepository#findPlayedBetween(ZonedDateTime, ZonedDateTime)}.
+     * @param from The beginning of the period, inclusive.
+     * @param to The end of the period, exclusive.
+     * @return The results of the period, in the order of their time of play.
+     */
+    public synchronized List<GameResult> findPlayedBetween(ZonedDateTime from, ZonedDateTime to) {
+        refreshIfChanged();
+        return repository.findPlayedBetween(from, to);
+    }
+
+    /**
+     * Returns the statistics of the given player.
+     * @param player The name of the player.
+     * @return The statistics of the player, or an empty {@code Optional} if the player
+     * has not played any games.
+     */
+    public synchronized Optional<PlayerStatistics> getPlayerStatistics(String player) {
+        refreshIfChanged();
+        return statistics.getPlayerStatistics(player);
+    }
+
+    /**
+     * Returns the statistics of all the players.
+     * @return The statistics of the players, in the alphabetical order of their names.
+     */
+    public synchronized List<PlayerStatistics> getAllPlayerStatistics() {
+        refreshIfChanged();
+        return statistics.getAllPlayerStatistics();
+    }
+
+    /**
+     * Returns the record of a player against an opponent.
+     * @param player The name of the player.
+     * @param opponent The name of the opponent.
+     * @return The record of the player against the opponent.
+     */
+    public synchronized HeadToHead getHeadToHead(String player, String opponent) {
+        refreshIfChanged();
+        return statistics.getHeadToHead(player, opponent);
+    }
+
+    /**
+     * Returns all the results.
+     * @return An unmodifiable copy of the results, in the order they were loaded and added.
+     */
+    public synchronized List<GameResult> findAll() {
+        refreshIfChanged();
+        return List.copyOf(repository.findAll());
+    }
+
+    /**
+     * Loads the results if they have not been loaded yet, or if the JSON file
+     * has changed since they were loaded.
+     * @return True if the results were loaded.
+     */
+    public synchronized boolean refreshIfChanged() {
+        long lastModified = jsonFile.lastModified();
+        long length = jsonFile.length();
+        if (loaded && lastModified == jsonLastModified && length == jsonLength) {
+            return false;
+        }
+        load();
+        jsonLastModified = lastModified;
+        jsonLength = length;
+        loaded = true;
+        return true;
+    }
+
+    private void load() {
+        repository.clear();
+        statistics.clear();
+        Consumer<GameResult> loader = ((Consumer<GameResult>) repository::add).andThen(statistics);
+        if (jsonFile.exists()) {
+            try {
+                repository.forEachInFile(jsonFile, loader);
+            } catch (IOException e) {
+                Logger.warn("The results could not be loaded!");
+                repository.clear();
+                statistics.clear();
+            }
+        }
+        if (writer != null) {
+            try {
+                writer.readAll(loader);
+            } catch (IOException e) {
+                Logger.warn("The results of the result log could not be loaded!");
+            }
+        }
+        Logger.debug("{} results loaded", repository.size());
+    }
+}
@@ -0,0 +1,13 @@
+package results;
+
+/**
+ * Represents the record of a player against an opponent, computed from the results
+ * of the games they played against each other, on either side.
+ * @param player The name of the player.
+ * @param opponent The name of the opponent.
+ * @param games The number of games the player and the opponent played against each other.
+ * @param wins The number of these games won by the player.
+ * @param losses The number of these games won by the opponent.
+ */
+public record HeadToHead(String player, String opponent, int games, int wins, int losses) {
+}
@@ -0,0 +1,61 @@
+package results;
+
+/**
+ * Represents the statistics of a player, computed from the results of the games of the player.
+ * The first player of a game moves the dogs, and the second player moves the fox.
+ * A game in which a player played against themselves is only counted for the dogs.
+ * @param player The name of the player.
+ * @param gamesAsDogs The number of games in which the player moved the dogs.
+ * @param winsAsDogs The number of games won by the player with the dogs.
+ * @param gamesAsFox The number of games in which the player moved the fox.
+ * @param winsAsFox The number of games won by the player with the fox.
+ * @param totalMoves The total number of moves of the games of the player.
+ * @param bestWinMoves The smallest number of moves in which the player won a game,
+ * or 0 if the player has not won any games.
+ * @param currentWinStreak The number of games the player won since the last game they did not win.
+ * @param longestWinStreak The largest number of games the player won in a row.
+ */
+public record PlayerStatistics(String player, int gamesAsDogs, int winsAsDogs, int gamesAsFox, int winsAsFox,
+                               long totalMoves, int bestWinMoves, int currentWinStreak, int longestWinStreak) {
+
+    /**
+     * Returns the number of games of the player.
+     * @return The number of games of the player.
+     */
+    public int games() {
+        return gamesAsDogs + gamesAsFox;
+    }
+
+    /**
+     * Returns the number of games won by the player.
+     * @return The number of games won by the player.
+     */
+    public int wins() {
+        return winsAsDogs + winsAsFox;
+    }
+
+    /**
+     * Returns the ratio of the games won by the player with the dogs.
+     * @return The win rate of the player with the dogs, or 0 if the player has not moved the dogs.
+     */
+    public double winRateAsDogs() {
+        return gamesAsDogs == 0 ? 0 : (double) winsAsDogs / gamesAsDogs;
+    }
+
+    /**
+     * Returns the ratio of the games won by the player with the fox.
+     * @return The win rate of the player with the fox, or 0 if the player has not moved the fox.
+     */
+    public double winRateAsFox() {
+        return gamesAsFox == 0 ? 0 : (double) winsAsFox / gamesAsFox;
+    }
+
+    /**
+     * Returns the average number of moves of the games of the player.
+     * @return The average number of moves, or 0 if the player has not played any games.
+     */
+    public double averageMoves() {
+        int games = games();
+        return games == 0 ? 0 : (double) totalMoves / games;
+    }
+}
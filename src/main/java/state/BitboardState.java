@@ -0,0 +1,479 @@
+package state;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * Represents the state of the Fox Catcher game with primitive values.
+ * The dogs are stored in a bitboard, where the bit {@code row * BOARD_SIZE + col}
+ * is set if there's a dog in the position {@code (row, col)}. The fox is stored
+ * as the number of its square, and the type of the piece that can be moved next
+ * is stored as a flag. The moves are generated by shifting and masking the bitboards,
+ * so no objects are created when the primitive methods are used.
+ * <p>
+ * The index of the fox is always 0, and the dogs have the indices from 1 to 4
+ * in the increasing order of their squares. Since the order of the dogs can change
+ * after a move, the index of a piece should be obtained with
+ * {@link #getPieceIndexByPosition(Position)}.
+ */
+public class BitboardState implements GameState {
+
+    /**
+     * The maximal number of moves that can be made in a state.
+     */
+    public static final int MAX_MOVES = 8;
+
+    /**
+     * The number of pieces on the board.
+     */
+    private static final int NUMBER_OF_PIECES = 5;
+
+    /**
+     * The number of dogs on the board.
+     */
+    private static final int NUMBER_OF_DOGS = 4;
+
+    private static final long FIRST_COLUMN = 0x0101010101010101L;
+
+    private static final long LAST_COLUMN = FIRST_COLUMN << (BoardState.BOARD_SIZE - 1);
+
+    private static final int UP_LEFT_SHIFT = BoardState.BOARD_SIZE + 1;
+
+    private static final int UP_RIGHT_SHIFT = BoardState.BOARD_SIZE - 1;
+
+    /**
+     * The bitboard of the dogs.
+     */
+    private long dogs;
+
+    /**
+     * The square of the fox.
+     */
+    private int fox;
+
+    /**
+     * True if the fox can be moved next time, false if the dogs can be moved.
+     */
+    private boolean foxToMove;
+
+    /**
+     * The Zobrist key of the state, which is updated after every move.
+     */
+    private long zobristKey;
+
+    /**
+     * The Zobrist key of the mirror image of the state, which is updated after every move.
+     */
+    private long mirroredZobristKey;
+
+    /**
+     * Creates a {@code BitboardState} object with the given bitboard of dogs
+     * and square of the fox.
+     * @param dogs The bitboard of the dogs, which must contain exactly four dogs.
+     * @param fox The square of the fox, which must not be occupied by a dog.
+     * @param pieceTypeToMove The type of the piece that can be moved first.
+     * @throws IllegalArgumentException If the pieces given are not valid.
+     */
+    public BitboardState(long dogs, int fox, PieceType pieceTypeToMove) {
+        if (Long.bitCount(dogs) != NUMBER_OF_DOGS || fox < 0 || fox >= BoardState.BOARD_SIZE * BoardState.BOARD_SIZE
+                || (dogs & (1L << fox)) != 0) {
+            throw new IllegalArgumentException();
+        }
+        this.dogs = dogs;
+        this.fox = fox;
+        this.foxToMove = pieceTypeToMove == PieceType.FOX;
+        long key = Zobrist.sideKey(pieceTypeToMove) ^ Zobrist.pieceKey(PieceType.FOX, fox);
+        long mirroredKey = Zobrist.sideKey(pieceTypeToMove) ^ Zobrist.pieceKey(PieceType.FOX, Move.mirrorSquare(fox));
+        for (long remaining = dogs; remaining != 0; remaining &= remaining - 1) {
+            int square = Long.numberOfTrailingZeros(remaining);
+            key ^= Zobrist.pieceKey(PieceType.DOG, square);
+            mirroredKey ^= Zobrist.pieceKey(PieceType.DOG, Move.mirrorSquare(square));
+        }
+        this.zobristKey = key;
+        this.mirroredZobristKey = mirroredKey;
+    }
+
+    /**
+     * Creates a {@code BitboardState} object which represents the initial state
+     * of the game. By default, the dogs can be moved first.
+     */
+    public BitboardState() {
+        this(new BoardState());
+    }
+
+    /**
+     * Creates a {@code BitboardState} object that represents the same state
+     * as the given state.
+     * @param state The state to be represented.
+     * @throws IllegalArgumentException If the given state does not contain
+     * exactly one fox and four dogs.
+     */
+    public BitboardState(GameState state) {
+        if (state.getNumberOfPieces() != NUMBER_OF_PIECES) {
+            throw new IllegalArgumentException();
+        }
+        int foxSquare = -1;
+        long dogSquares = 0L;
+        for (int i = 0; i < state.getNumberOfPieces(); i++) {
+            Piece piece = state.getPiece(i);
+            int square = Move.square(piece.getPosition().row(), piece.getPosition().col());
+            if (piece.getPieceType() == PieceType.DOG) {
+                dogSquares |= 1L << square;
+            } else if (foxSquare == -1) {
+                foxSquare = square;
+            } else {
+                throw new IllegalArgumentException();
+            }
+        }
+        if (foxSquare == -1 || Long.bitCount(dogSquares) != NUMBER_OF_DOGS) {
+            throw new IllegalArgumentException();
+        }
+        this.dogs = dogSquares;
+        this.fox = foxSquare;
+        this.foxToMove = state.getPieceTypeToMove() == PieceType.FOX;
+        this.zobristKey = Zobrist.hash(this);
+        this.mirroredZobristKey = Zobrist.mirroredHash(this);
+    }
+
+    /**
+     * Returns the bitboard of the dogs.
+     * @return The bitboard of the dogs.
+     */
+    public long getDogs() {
+        return dogs;
+    }
+
+    /**
+     * Returns the square of the fox.
+     * @return The square of the fox.
+     */
+    public int getFoxSquare() {
+        return fox;
+    }
+
+    /**
+     * Returns true if the fox can be moved next time.
+     * @return True if the fox can be moved next time, false if the dogs can be moved.
+     */
+    public boolean isFoxToMove() {
+        return foxToMove;
+    }
+
+    /**
+     * Returns the bitboard of the squares that are not occupied by any piece.
+     * @return The bitboard of the empty squares.
+     */
+    private long empty() {
+        return ~(dogs | (1L << fox));
+    }
+
+    /**
+     * Returns the bitboard of the squares the fox can move to.
+     * @return The bitboard of the squares the fox can move to.
+     */
+    private long foxTargets() {
+        long foxBit = 1L << fox;
+        long targets = ((foxBit & ~FIRST_COLUMN) >>> UP_LEFT_SHIFT)
+                | ((foxBit & ~LAST_COLUMN) >>> UP_RIGHT_SHIFT)
+                | ((foxBit & ~FIRST_COLUMN) << UP_RIGHT_SHIFT)
+                | ((foxBit & ~LAST_COLUMN) << UP_LEFT_SHIFT);
+        return targets & empty();
+    }
+
+    /**
+     * Returns the number of moves the fox could make, regardless of which type
+     * of piece can be moved next.
+     * @return The number of moves of the fox.
+     */
+    public int countFoxMoves() {
+        return Long.bitCount(foxTargets());
+    }
+
+    /**
+     * Returns the bitboard of the squares the given dogs can move to in the
+     * {@code UP_LEFT} direction.
+     * @param dogSquares The bitboard of the dogs to be moved.
+     * @return The bitboard of the target squares.
+     */
+    private long dogUpLeftTargets(long dogSquares) {
+        return ((dogSquares & ~FIRST_COLUMN) >>> UP_LEFT_SHIFT) & empty();
+    }
+
+    /**
+     * Returns the bitboard of the squares the given dogs can move to in the
+     * {@code UP_RIGHT} direction.
+     * @param dogSquares The bitboard of the dogs to be moved.
+     * @return The bitboard of the target squares.
+     */
+    private long dogUpRightTargets(long dogSquares) {
+        return ((dogSquares & ~LAST_COLUMN) >>> UP_RIGHT_SHIFT) & empty();
+    }
+
+    /**
+     * Stores the moves that can be made by the side to move in the given array.
+     * @param moves The array of at least {@link #MAX_MOVES} elements in which the
+     * encoded moves are stored.
+     * @return The number of moves stored in the array.
+     */
+    public int generateMoves(int[] moves) {
+        int count = 0;
+        if (foxToMove) {
+            long targets = foxTargets();
+            while (targets != 0) {
+                moves[count++] = Move.of(fox, Long.numberOfTrailingZeros(targets));
+                targets &= targets - 1;
+            }
+        } else {
+            long targets = dogUpLeftTargets(dogs);
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                moves[count++] = Move.of(to + UP_LEFT_SHIFT, to);
+                targets &= targets - 1;
+            }
+            targets = dogUpRightTargets(dogs);
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                moves[count++] = Move.of(to + UP_RIGHT_SHIFT, to);
+                targets &= targets - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Makes the given move, which must be a move generated by {@link #generateMoves(int[])}
+     * for this state. The move is not validated.
+     * @param move The encoded move to be made.
+     */
+    public void makeMove(int move) {
+        if (foxToMove) {
+            fox = Move.to(move);
+            zobristKey ^= Zobrist.moveKey(PieceType.FOX, Move.from(move), Move.to(move));
+            mirroredZobristKey ^= Zobrist.mirroredMoveKey(PieceType.FOX, Move.from(move), Move.to(move));
+        } else {
+            dogs ^= (1L << Move.from(move)) | (1L << Move.to(move));
+            zobristKey ^= Zobrist.moveKey(PieceType.DOG, Move.from(move), Move.to(move));
+            mirroredZobristKey ^= Zobrist.mirroredMoveKey(PieceType.DOG, Move.from(move), Move.to(move));
+        }
+        foxToMove = !foxToMove;
+    }
+
+    /**
+     * Takes back the given move, which must be the last move made by
+     * {@link #makeMove(int)}.
+     * @param move The encoded move to be taken back.
+     */
+    public void unmakeMove(int move) {
+        foxToMove = !foxToMove;
+        if (foxToMove) {
+            fox = Move.from(move);
+            zobristKey ^= Zobrist.moveKey(PieceType.FOX, Move.from(move), Move.to(move));
+            mirroredZobristKey ^= Zobrist.mirroredMoveKey(PieceType.FOX, Move.from(move), Move.to(move));
+        } else {
+            dogs ^= (1L << Move.from(move)) | (1L << Move.to(move));
+            zobristKey ^= Zobrist.moveKey(PieceType.DOG, Move.from(move), Move.to(move));
+            mirroredZobristKey ^= Zobrist.mirroredMoveKey(PieceType.DOG, Move.from(move), Move.to(move));
+        }
+    }
+
+    @Override
+    public int getNumberOfPieces() {
+        return NUMBER_OF_PIECES;
+    }
+
+    @Override
+    public Piece getPiece(int index) {
+        int square = getSquare(index);
+        return new Piece(index == 0 ? PieceType.FOX : PieceType.DOG,
+                Position.of(Move.row(square), Move.col(square)));
+    }
+
+    @Override
+    public Optional<Integer> getPieceIndexByPosition(Position position) {
+        if (!isPositionValid(position)) {
+            return Optional.empty();
+        }
+        int square = Move.square(position.row(), position.col());
+        if (square == fox) {
+            return Optional.of(0);
+        }
+        long bit = 1L << square;
+        if ((dogs & bit) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(1 + Long.bitCount(dogs & (bit - 1)));
+    }
+
+    @Override
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    @Override
+    public long getMirroredZobristKey() {
+        return mirroredZobristKey;
+    }
+
+    /**
+     * Returns the mirror image of the state in the vertical axis of the board.
+     * @return The mirror image of the state.
+     */
+    public BitboardState mirror() {
+        return new BitboardState(mirror(dogs), Move.mirrorSquare(fox), getPieceTypeToMove());
+    }
+
+    /**
+     * Returns the mirror image of the given bitboard in the vertical axis of the board.
+     * Every row of the board is a byte of the bitboard, so the bits of each byte are reversed.
+     * @param bitboard The bitboard.
+     * @return The mirrored bitboard.
+     */
+    public static long mirror(long bitboard) {
+        return Long.reverse(Long.reverseBytes(bitboard));
+    }
+
+    @Override
+    public PieceType getPieceTypeToMove() {
+        return foxToMove ? PieceType.FOX : PieceType.DOG;
+    }
+
+    @Override
+    public boolean canMove(int index, Direction direction) {
+        if (index < 0 || index >= NUMBER_OF_PIECES) {
+            throw new IllegalArgumentException();
+        }
+        if (foxToMove != (index == 0)) {
+            return false;
+        }
+        return isMovePossible(index, direction);
+    }
+
+    @Override
+    public void move(int index, Direction direction) {
+        if (canMove(index, direction)) {
+            int from = getSquare(index);
+            makeMove(Move.of(from, from + direction.getRowChange() * BoardState.BOARD_SIZE
+                    + direction.getColChange()));
+        }
+    }
+
+    @Override
+    public boolean isGoal() {
+        return foxWins() || dogWins();
+    }
+
+    @Override
+    public boolean foxWins() {
+        return (dogs >>> (Move.row(fox) * BoardState.BOARD_SIZE)) == 0;
+    }
+
+    @Override
+    public boolean dogWins() {
+        return foxTargets() == 0;
+    }
+
+    @Override
+    public ArrayList<Direction> getPossibleMoves(int index) {
+        ArrayList<Direction> directions = new ArrayList<Direction>();
+        for (var direction : Direction.values()) {
+            if (isMovePossible(index, direction)) {
+                directions.add(direction);
+            }
+        }
+        return directions;
+    }
+
+    @Override
+    public boolean isSquareEmpty(Position position) {
+        return !isPositionValid(position)
+                || (empty() & (1L << Move.square(position.row(), position.col()))) != 0;
+    }
+
+    /**
+     * Returns true if the piece at the given index can be moved in the given
+     * direction, regardless of which type of piece can be moved next.
+     * @param index The index of the piece.
+     * @param direction The direction in which the piece would be moved.
+     * @return True if the piece can be moved in the given direction.
+     */
+    private boolean isMovePossible(int index, Direction direction) {
+        int square = getSquare(index);
+        if (index != 0 && direction.getRowChange() > 0) {
+            return false;
+        }
+        int row = Move.row(square) + direction.getRowChange();
+        int col = Move.col(square) + direction.getColChange();
+        return row >= 0 && row < BoardState.BOARD_SIZE && col >= 0 && col < BoardState.BOARD_SIZE
+                && (empty() & (1L << Move.square(row, col))) != 0;
+    }
+
+    /**
+     * Returns the square of the piece at the given index.
+     * @param index The index of the piece.
+     * @return The square of the piece.
+     * @throws IllegalArgumentException If the index does not correspond to an index of a piece.
+     */
+    private int getSquare(int index) {
+        if (index < 0 || index >= NUMBER_OF_PIECES) {
+            throw new IllegalArgumentException();
+        }
+        if (index == 0) {
+            return fox;
+        }
+        long remaining = dogs;
+        for (int i = 1; i < index; i++) {
+            remaining &= remaining - 1;
+        }
+        return Long.numberOfTrailingZeros(remaining);
+    }
+
+    private static boolean isPositionValid(Position position) {
+        return position.row() >= 0 && position.row() < BoardState.BOARD_SIZE
+                && position.col() >= 0 && position.col() < BoardState.BOARD_SIZE;
+    }
+
+    /**
+     * Returns a {@code BoardState} object that represents the same state.
+     * The fox has the index 0 in the returned state.
+     * @return A {@code BoardState} object that represents the same state.
+     */
+    public BoardState toBoardState() {
+        Piece[] pieces = new Piece[NUMBER_OF_PIECES];
+        for (int i = 0; i < NUMBER_OF_PIECES; i++) {
+            pieces[i] = getPiece(i);
+        }
+        return new BoardState(getPieceTypeToMove(), pieces);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return (o instanceof BitboardState state) && dogs == state.dogs
+                && fox == state.fox && foxToMove == state.foxToMove;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobristKey);
+    }
+
+    @Override
+    public String toString() { // "{DOG, [FOX: (0,2)], [...], ...}"
+        StringBuilder result = new StringBuilder("{").append(getPieceTypeToMove());
+        for (int i = 0; i < NUMBER_OF_PIECES; i++) {
+            result.append(", [").append(getPiece(i)).append(']');
+        }
+        return result.append('}').toString();
+    }
+
+    @Override
+    public BitboardState clone() {
+        try {
+            return (BitboardState) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError();
+        }
+    }
+}
@@ -4,29 +4,63 @@ import org.tinylog.Logger;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Represents the state of the Fox Catcher game.
+ * The methods evaluating the rules of the game do not log anything, so they can
+ * be called in bulk by searches and analyses. Only the invalid arguments that
+ * cause an exception are logged.
  */
-public class BoardState implements Cloneable {
+public class BoardState implements GameState {
 
     /**
      * The size of the board the game is played on.
      */
     public static final int BOARD_SIZE = 8;
 
+    private static final int SQUARE_MASK = 0x3F;
+
+    private static final int INDEX_SHIFT = 6;
+
+    private static final int INDEX_MASK = 0x7;
+
+    private static final int FOX_TO_MOVE_BIT = 1 << 9;
+
+    private static final byte EMPTY_SQUARE = -1;
+
     /**
      * The array containing the pieces.
      */
     private Piece[] pieces;
 
+    /**
+     * The index of the fox among the pieces.
+     */
+    private int foxIndex;
+
+    /**
+     * The index of the piece on each square of the board, indexed by
+     * {@link Move#square(int, int)}, or -1 if the square is empty.
+     * It is updated after every move together with the positions of the pieces.
+     */
+    private byte[] occupancy;
+
     /**
      * The type of the piece that can be moved next time.
      */
     private PieceType pieceTypeToMove;
 
+    /**
+     * The Zobrist key of the state, which is updated after every move.
+     */
+    private long zobristKey;
+
+    /**
+     * The Zobrist key of the mirror image of the state, which is updated after every move.
+     */
+    private long mirroredZobristKey;
+
     /**
      * Creates a {@code BoardState} object with the pieces given.
      * This constructor makes it possible to define the pieces with
@@ -43,6 +77,18 @@ public class BoardState implements Cloneable {
         }
         this.pieceTypeToMove = pieceTypeToMove;
         this.pieces = deepClone(pieces);
+        this.occupancy = new byte[BOARD_SIZE * BOARD_SIZE];
+        Arrays.fill(occupancy, EMPTY_SQUARE);
+        this.foxIndex = -1;
+        for (int i = 0; i < this.pieces.length; i++) {
+            Position position = this.pieces[i].getPosition();
+            occupancy[Move.square(position.row(), position.col())] = (byte) i;
+            if (foxIndex < 0 && this.pieces[i].getPieceType() == PieceType.FOX) {
+                foxIndex = i;
+            }
+        }
+        this.zobristKey = Zobrist.hash(this);
+        this.mirroredZobristKey = Zobrist.mirroredHash(this);
     }
 
     /**
@@ -54,11 +100,11 @@ public class BoardState implements Cloneable {
      */
     public BoardState(PieceType pieceTypeToMove) {
         this(pieceTypeToMove,
-                new Piece(PieceType.FOX, new Position(0, 2)),
-                new Piece(PieceType.DOG, new Position(7, 1)),
-                new Piece(PieceType.DOG, new Position(7, 3)),
-                new Piece(PieceType.DOG, new Position(7, 5)),
-                new Piece(PieceType.DOG, new Position(7, 7)));
+                new Piece(PieceType.FOX, Position.of(0, 2)),
+                new Piece(PieceType.DOG, Position.of(7, 1)),
+                new Piece(PieceType.DOG, Position.of(7, 3)),
+                new Piece(PieceType.DOG, Position.of(7, 5)),
+                new Piece(PieceType.DOG, Position.of(7, 7)));
     }
 
     /**
@@ -68,11 +114,11 @@ public class BoardState implements Cloneable {
      */
     public BoardState() {
         this(PieceType.DOG,
-                new Piece(PieceType.FOX, new Position(0, 2)),
-                new Piece(PieceType.DOG, new Position(7, 1)),
-                new Piece(PieceType.DOG, new Position(7, 3)),
-                new Piece(PieceType.DOG, new Position(7, 5)),
-                new Piece(PieceType.DOG, new Position(7, 7)));
+                new Piece(PieceType.FOX, Position.of(0, 2)),
+                new Piece(PieceType.DOG, Position.of(7, 1)),
+                new Piece(PieceType.DOG, Position.of(7, 3)),
+                new Piece(PieceType.DOG, Position.of(7, 5)),
+                new Piece(PieceType.DOG, Position.of(7, 7)));
     }
 
     /**
@@ -146,14 +192,8 @@ public class BoardState implements Cloneable {
         if (!isPositionValid(position)) {
             return Optional.empty();
         }
-        Optional<Integer> index = Optional.empty();
-        for (int i = 0; i < this.pieces.length; i++) {
-            if (this.pieces[i].getPosition().equals(position)) {
-                index = Optional.of(i);
-                return index;
-            }
-        }
-        return index;
+        int index = occupancy[Move.square(position.row(), position.col())];
+        return index == EMPTY_SQUARE ? Optional.empty() : Optional.of(index);
     }
 
     /**
@@ -164,19 +204,43 @@ public class BoardState implements Cloneable {
         return this.pieceTypeToMove;
     }
 
+    /**
+     * Returns the Zobrist key of the state. Equal states have equal keys.
+     * @return The Zobrist key of the state.
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * Returns the Zobrist key of the mirror image of the state.
+     * @return The Zobrist key of the mirror image of the state.
+     */
+    public long getMirroredZobristKey() {
+        return this.mirroredZobristKey;
+    }
+
+    /**
+     * Returns the mirror image of the state in the vertical axis of the board.
+     * The pieces keep their indices.
+     * @return The mirror image of the state.
+     */
+    public BoardState mirror() {
+        Piece[] mirroredPieces = new Piece[pieces.length];
+        for (int i = 0; i < pieces.length; i++) {
+            Position position = pieces[i].getPosition();
+            mirroredPieces[i] = new Piece(pieces[i].getPieceType(),
+                    Position.of(position.row(), BOARD_SIZE - 1 - position.col()));
+        }
+        return new BoardState(pieceTypeToMove, mirroredPieces);
+    }
+
     /**
      * Returns the index of the fox.
      * @return The index of the fox.
      */
     private int getFoxIndex() {
-        int index = -1;
-        for (int i = 0; i < this.getNumberOfPieces(); i++) {
-            if (this.pieces[i].getPieceType() == PieceType.FOX) {
-                index = i;
-                break;
-            }
-        }
-        return index;
+        return foxIndex;
     }
 
     /**
@@ -191,7 +255,9 @@ public class BoardState implements Cloneable {
      */
     public boolean canMove(int index, Direction direction) {
         if (isIndexInvalid(index)) {
-            Logger.warn("The index passed to the canMove() method does not correspond to an index of a piece!");
+            if (Logger.isWarnEnabled()) {
+                Logger.warn("The index passed to the canMove() method does not correspond to an index of a piece!");
+            }
             throw new IllegalArgumentException();
         }
         if (index == this.getFoxIndex()) {
@@ -213,7 +279,6 @@ public class BoardState implements Cloneable {
      */
     private boolean canFoxMove(int index, Direction direction) {
         if (this.pieceTypeToMove != PieceType.FOX) {
-            Logger.info("The fox can be moved on the next turn!");
             return false;
         }
         return switch (direction) {
@@ -234,7 +299,6 @@ public class BoardState implements Cloneable {
      */
     private boolean canDogMove(int index, Direction direction) {
         if (this.pieceTypeToMove != PieceType.DOG) {
-            Logger.info("The dog can be moved on the next turn!");
             return false;
         }
         return switch (direction) {
@@ -252,13 +316,7 @@ public class BoardState implements Cloneable {
      * the method returns false.
      */
     private boolean canMoveUpLeft(int index) {
-        if (isInFirstRow(index) || isInFirstColumn(index)) {
-            return false;
-        }
-        if (isSquareEmpty(this.pieces[index].getPosition().getPositionAt(Direction.UP_LEFT))) {
-            return true;
-        }
-        return false;
+        return isTargetEmpty(index, Direction.UP_LEFT);
     }
 
     /**
@@ -269,13 +327,7 @@ public class BoardState implements Cloneable {
      * the method returns false.
      */
     private boolean canMoveUpRight(int index) {
-        if (isInFirstRow(index) || isInLastColumn(index)) {
-            return false;
-        }
-        if (isSquareEmpty(this.pieces[index].getPosition().getPositionAt(Direction.UP_RIGHT))) {
-            return true;
-        }
-        return false;
+        return isTargetEmpty(index, Direction.UP_RIGHT);
     }
 
     /**
@@ -286,13 +338,7 @@ public class BoardState implements Cloneable {
      * the method returns false.
      */
     private boolean canMoveDownLeft(int index) {
-        if (isInLastRow(index) || isInFirstColumn(index)) {
-            return false;
-        }
-        if (isSquareEmpty(this.pieces[index].getPosition().getPositionAt(Direction.DOWN_LEFT))) {
-            return true;
-        }
-        return false;
+        return isTargetEmpty(index, Direction.DOWN_LEFT);
     }
 
     /**
@@ -303,13 +349,20 @@ public class BoardState implements Cloneable {
      * the method returns false.
      */
     private boolean canMoveDownRight(int index) {
-        if (isInLastRow(index) || isInLastColumn(index)) {
-            return false;
-        }
-        if (isSquareEmpty(this.pieces[index].getPosition().getPositionAt(Direction.DOWN_RIGHT))) {
-            return true;
-        }
-        return false;
+        return isTargetEmpty(index, Direction.DOWN_RIGHT);
+    }
+
+    /**
+     * Returns true if the piece at the given index stays on the board when moved
+     * in the given direction, and the square it would be moved to is empty.
+     * @param index The index of the piece to be checked.
+     * @param direction The direction in which the piece would be moved.
+     * @return True if the target square of the move is on the board and empty.
+     */
+    private boolean isTargetEmpty(int index, Direction direction) {
+        Position position = this.pieces[index].getPosition();
+        int target = direction.getTargetSquare(Move.square(position.row(), position.col()));
+        return target != Direction.NO_SQUARE && occupancy[target] == EMPTY_SQUARE;
     }
 
     /**
@@ -319,7 +372,9 @@ public class BoardState implements Cloneable {
      */
     public void move(int index, Direction direction) {
         if (isIndexInvalid(index)) {
-            Logger.error("The index passed to the move() method does not correspond to an index of a piece!");
+            if (Logger.isErrorEnabled()) {
+                Logger.error("The index passed to the move() method does not correspond to an index of a piece!");
+            }
             throw new IllegalArgumentException();
         }
         if (index == this.getFoxIndex()) {
@@ -336,7 +391,7 @@ public class BoardState implements Cloneable {
      */
     private void moveFox(int index, Direction direction) {
         if (canFoxMove(index, direction)) {
-            pieces[this.getFoxIndex()].getPosition().setTo(direction);
+            movePiece(index, direction);
             this.pieceTypeToMove = PieceType.DOG;
         }
     }
@@ -348,11 +403,77 @@ public class BoardState implements Cloneable {
      */
     private void moveDog(int index, Direction direction) {
         if (canDogMove(index, direction)) {
-            pieces[index].getPosition().setTo(direction);
+            movePiece(index, direction);
             this.pieceTypeToMove = PieceType.FOX;
         }
     }
 
+    /**
+     * Moves the piece at the given index in the direction specified,
+     * and updates the Zobrist keys of the state.
+     * @param index The index of the piece.
+     * @param direction The direction in which the piece should be moved.
+     */
+    private void movePiece(int index, Direction direction) {
+        Position position = pieces[index].getPosition();
+        int from = Move.square(position.row(), position.col());
+        Position target = position.getPositionAt(direction);
+        pieces[index].setPosition(target);
+        int to = Move.square(target.row(), target.col());
+        occupancy[from] = EMPTY_SQUARE;
+        occupancy[to] = (byte) index;
+        zobristKey ^= Zobrist.moveKey(pieces[index].getPieceType(), from, to);
+        mirroredZobristKey ^= Zobrist.mirroredMoveKey(pieces[index].getPieceType(), from, to);
+    }
+
+    /**
+     * Moves the {@link Piece} at the given index in the specified direction, and
+     * returns an undo record with which the move can be taken back by
+     * {@link #unmakeMove(int)}. Unlike {@link #move(int, Direction)}, this method
+     * creates no objects, so a game tree can be walked on a single {@code BoardState}
+     * object by making and taking back the moves.
+     * <p>
+     * The undo record contains the square the piece was moved from in its lowest six bits,
+     * the index of the piece in the next three bits, and whether the fox was to move
+     * before the move in the tenth bit.
+     * @param index The index of the {@code Piece} to be moved.
+     * @param direction The direction in which the {@code Piece} should be moved.
+     * @return The undo record of the move.
+     * @throws IllegalArgumentException If the index does not correspond to an index
+     * of a piece, or the piece cannot be moved in the given direction.
+     */
+    public int makeMove(int index, Direction direction) {
+        if (!canMove(index, direction)) {
+            throw new IllegalArgumentException();
+        }
+        Position position = pieces[index].getPosition();
+        int undo = Move.square(position.row(), position.col())
+                | (index << INDEX_SHIFT)
+                | (pieceTypeToMove == PieceType.FOX ? FOX_TO_MOVE_BIT : 0);
+        movePiece(index, direction);
+        this.pieceTypeToMove = this.pieceTypeToMove == PieceType.FOX ? PieceType.DOG : PieceType.FOX;
+        return undo;
+    }
+
+    /**
+     * Takes back the move with the given undo record, which must be the record
+     * returned by the last call of {@link #makeMove(int, Direction)} that has
+     * not been taken back yet.
+     * @param undo The undo record of the move.
+     */
+    public void unmakeMove(int undo) {
+        int index = (undo >>> INDEX_SHIFT) & INDEX_MASK;
+        int from = undo & SQUARE_MASK;
+        Position position = pieces[index].getPosition();
+        int to = Move.square(position.row(), position.col());
+        pieces[index].setPosition(Position.of(Move.row(from), Move.col(from)));
+        occupancy[to] = EMPTY_SQUARE;
+        occupancy[from] = (byte) index;
+        zobristKey ^= Zobrist.moveKey(pieces[index].getPieceType(), from, to);
+        mirroredZobristKey ^= Zobrist.mirroredMoveKey(pieces[index].getPieceType(), from, to);
+        this.pieceTypeToMove = (undo & FOX_TO_MOVE_BIT) != 0 ? PieceType.FOX : PieceType.DOG;
+    }
+
     /**
      * Determines if the current state of the game is a goal state or not.
      * @return True if the {@link BoardState} object represents a goal state
@@ -370,8 +491,9 @@ public class BoardState implements Cloneable {
      */
     public boolean foxWins() {
         int numberOfBypassedDogs = 0;
+        int foxRow = pieces[this.getFoxIndex()].getPosition().row();
         for (int i = 0; i < this.getNumberOfPieces(); i++) {
-            if (pieces[this.getFoxIndex()].getPosition().row() > pieces[i].getPosition().row()) {
+            if (foxRow > pieces[i].getPosition().row()) {
                 numberOfBypassedDogs++;
             }
         }
@@ -388,10 +510,9 @@ public class BoardState implements Cloneable {
      * where the dogs win. Otherwise, the method returns false.
      */
     public boolean dogWins() {
-        if (getPossibleMoves(this.getFoxIndex()).isEmpty()) {
-            return true;
-        }
-        return false;
+        int foxIndex = this.getFoxIndex();
+        return !(canMoveUpLeft(foxIndex) || canMoveUpRight(foxIndex)
+                || canMoveDownLeft(foxIndex) || canMoveDownRight(foxIndex));
     }
 
     /**
@@ -453,72 +574,20 @@ public class BoardState implements Cloneable {
      * returns false;
      */
     public boolean isSquareEmpty(Position position) {
-        for (var piece : pieces) {
-            if (piece.getPosition().equals(position)) {
-                return false;
-            }
-        }
-        return true;
+        return isSquareEmpty(position.row(), position.col());
     }
 
     /**
-     * Returns true if the piece at the specified index is in the first row
-     * of the board. Otherwise, the method returns false.
-     * @param index The index of the piece.
-     * @return True if the piece at the given index is in the first row
-     * of the board. Otherwise, the method returns false;
-     */
-    private boolean isInFirstRow(int index) {
-        if (isIndexInvalid(index)) {
-            Logger.error("The index passed to the isInFirstRow() method does not correspond to an index of a piece!");
-            throw new IllegalArgumentException();
-        }
-        return pieces[index].getPosition().row() == 0;
-    }
-
-    /**
-     * Returns true if the piece at the specified index is in the
-     * last row of the board. Otherwise, the method returns false.
-     * @param index The index of the piece.
-     * @return True if the piece at the specified index is in the
-     * last row of the board. Otherwise, the method returns false.
-     */
-    private boolean isInLastRow(int index) {
-        if (isIndexInvalid(index)) {
-            Logger.error("The index passed to the isInLastRow() method does not correspond to an index of a piece!");
-            throw new IllegalArgumentException();
-        }
-        return pieces[index].getPosition().row() == BOARD_SIZE - 1;
-    }
-
-    /**
-     * Returns true if the piece at the given index is in the first column
-     * of the board. Otherwise, the method returns false.
-     * @param index The index of the piece.
-     * @return True if the piece at the specified index is in the first column
-     * of the board. Otherwise, the method returns false.
-     */
-    private boolean isInFirstColumn(int index) {
-        if (isIndexInvalid(index)) {
-            Logger.error("The index passed to the isInFirstColumn() method does not correspond to an index of a piece!");
-            throw new IllegalArgumentException();
-        }
-        return pieces[index].getPosition().col() == 0;
-    }
-
-    /**
-     * Returns true if the piece at the given index is in the last column of the board.
-     * Otherwise, this method returns false.
-     * @param index The index of the piece.
-     * @return True if the piece at the given index is in the last column of the board.
+     * Returns true if the square at the given coordinates is empty.
      * Otherwise, this method returns false.
+     * @param row The row coordinate of the square.
+     * @param col The column coordinate of the square.
+     * @return True if the square at the given coordinates is empty. Otherwise,
+     * this method returns false.
      */
-    private boolean isInLastColumn(int index) {
-        if (isIndexInvalid(index)) {
-            Logger.error("The index passed to the isInLastColumn() method does not correspond to an index of a piece!");
-            throw new IllegalArgumentException();
-        }
-        return pieces[index].getPosition().col() == BOARD_SIZE - 1;
+    private boolean isSquareEmpty(int row, int col) {
+        return row < 0 || row >= BOARD_SIZE || col < 0 || col >= BOARD_SIZE
+                || occupancy[Move.square(row, col)] == EMPTY_SQUARE;
     }
 
     /**
@@ -544,7 +613,7 @@ public class BoardState implements Cloneable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(pieces, pieceTypeToMove);
+        return Long.hashCode(zobristKey);
     }
 
     @Override
@@ -570,6 +639,7 @@ public class BoardState implements Cloneable {
             throw new AssertionError();
         }
         copy.pieces = deepClone(this.pieces);
+        copy.occupancy = this.occupancy.clone();
         return copy;
     }
 
@@ -1,9 +1,11 @@
 package state;
 
-import org.tinylog.Logger;
-
 /**
  * Represents the four main directions.
+ * <p>
+ * The target squares of the moves and the directions between the squares of
+ * the board are looked up in tables computed once, so neither depends on a search
+ * or an exception. The squares are numbered as in {@link Move#square(int, int)}.
  */
 public enum Direction {
 
@@ -12,6 +14,43 @@ public enum Direction {
     DOWN_LEFT(1, -1),
     DOWN_RIGHT(1, 1);
 
+    /**
+     * The value returned instead of a square when a move would leave the board.
+     */
+    public static final int NO_SQUARE = -1;
+
+    private static final int SQUARE_COUNT = BoardState.BOARD_SIZE * BoardState.BOARD_SIZE;
+
+    private static final Direction[] BY_CHANGE = new Direction[9];
+
+    /**
+     * The target squares of the moves, indexed by the ordinal of the direction
+     * and the source square.
+     */
+    private static final int[][] TARGETS = new int[values().length][SQUARE_COUNT];
+
+    /**
+     * The directions from one square to a diagonally adjacent square, indexed by
+     * the move between the squares given by {@link Move#of(int, int)}.
+     */
+    private static final Direction[] BETWEEN = new Direction[SQUARE_COUNT * SQUARE_COUNT];
+
+    static {
+        for (var direction : values()) {
+            BY_CHANGE[changeIndex(direction.rowChange, direction.colChange)] = direction;
+            for (int square = 0; square < SQUARE_COUNT; square++) {
+                int row = Move.row(square) + direction.rowChange;
+                int col = Move.col(square) + direction.colChange;
+                if (row < 0 || row >= BoardState.BOARD_SIZE || col < 0 || col >= BoardState.BOARD_SIZE) {
+                    TARGETS[direction.ordinal()][square] = NO_SQUARE;
+                } else {
+                    TARGETS[direction.ordinal()][square] = Move.square(row, col);
+                    BETWEEN[Move.of(square, Move.square(row, col))] = direction;
+                }
+            }
+        }
+    }
+
     private final int rowChange;
     private final int colChange;
 
@@ -37,17 +76,44 @@ public enum Direction {
     }
 
     /**
+     * Returns the square reached by moving from the given square to the direction.
+     * @param square A square of the board.
+     * @return The square reached by moving from the given square to the direction,
+     * or {@link #NO_SQUARE} if the move would leave the board.
+     */
+    public int getTargetSquare(int square) {
+        return TARGETS[ordinal()][square];
+    }
+
+    /**
+     * Returns the direction that corresponds to the given coordinate changes.
+     * @param rowChange The change in the row coordinate.
+     * @param colChange The change in the column coordinate.
      * @return The direction that corresponds to the coordinate changes
      * specified.
-     * @param rowChange the change in the row coordinate
-     * @param colChange the change in the column coordinate
+     * @throws IllegalArgumentException If no direction corresponds to the coordinate changes.
      */
     public static Direction of(int rowChange, int colChange) {
-        for (var direction : values()) {
-            if (direction.rowChange == rowChange && direction.colChange == colChange) {
-                return direction;
-            }
+        Direction direction = Math.abs(rowChange) <= 1 && Math.abs(colChange) <= 1
+                ? BY_CHANGE[changeIndex(rowChange, colChange)] : null;
+        if (direction == null) {
+            throw new IllegalArgumentException();
         }
-        throw new IllegalArgumentException();
+        return direction;
+    }
+
+    /**
+     * Returns the direction in which a piece moves from one square to another.
+     * @param from The source square.
+     * @param to The target square.
+     * @return The direction in which a piece moves from the source square to
+     * the target square, or {@code null} if the squares are not diagonally adjacent.
+     */
+    public static Direction between(int from, int to) {
+        return BETWEEN[Move.of(from, to)];
+    }
+
+    private static int changeIndex(int rowChange, int colChange) {
+        return (rowChange + 1) * 3 + colChange + 1;
     }
 }
\ No newline at end of file
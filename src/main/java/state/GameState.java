@@ -0,0 +1,146 @@
+package state;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents the rules of the Fox Catcher game as seen from a state
+ * of the game. Every implementation must give the same answers for
+ * the same arrangement of pieces, so the implementations can be used
+ * interchangeably.
+ * <p>
+ * The pieces are identified by their indices. Implementations are free
+ * to choose the order of the pieces, therefore the index of a piece
+ * should always be obtained with {@link #getPieceIndexByPosition(Position)}.
+ */
+public interface GameState extends Cloneable {
+
+    /**
+     * Returns the number of pieces on the board.
+     * @return The number of pieces on the board.
+     */
+    int getNumberOfPieces();
+
+    /**
+     * Returns a copy of the {@code Piece} object at the given index.
+     * @param index The index of the {@code Piece} object to be returned.
+     * @return The copy of the {@code Piece} object at the given index.
+     */
+    Piece getPiece(int index);
+
+    /**
+     * Returns an {@code Optional} object that wraps the index of the piece
+     * whose position matches the position given. If there's no piece in the
+     * given position, the method returns an empty {@code Optional} object.
+     * @param position The position of the piece.
+     * @return An {@code Optional} object which wraps the index of the piece
+     * in the given position, or an empty {@code Optional} object.
+     */
+    Optional<Integer> getPieceIndexByPosition(Position position);
+
+    /**
+     * Returns the type of the piece that can be moved next.
+     * @return The type of the piece that can be moved next.
+     */
+    PieceType getPieceTypeToMove();
+
+    /**
+     * Returns the Zobrist key of the state, as defined by {@link Zobrist}.
+     * Equal states have equal keys in every implementation.
+     * @return The Zobrist key of the state.
+     */
+    long getZobristKey();
+
+    /**
+     * Returns the Zobrist key of the mirror image of the state, in which every
+     * piece is moved to the mirrored square given by {@link Move#mirrorSquare(int)}.
+     * @return The Zobrist key of the mirror image of the state.
+     */
+    long getMirroredZobristKey();
+
+    /**
+     * Returns the canonical key of the state, which is the smaller one of the
+     * Zobrist keys of the state and of its mirror image. A state and its mirror
+     * image have the same canonical key, so they can share one entry in a table.
+     * @return The canonical key of the state.
+     */
+    default long getCanonicalKey() {
+        return Math.min(getZobristKey(), getMirroredZobristKey());
+    }
+
+    /**
+     * Returns true if the canonical key of the state is the key of its mirror image.
+     * The moves stored under the canonical key are then moves of the mirror image,
+     * which have to be mirrored with {@link Move#mirror(int)}.
+     * @return True if the canonical key is the key of the mirror image of the state.
+     */
+    default boolean isCanonicalKeyMirrored() {
+        return getMirroredZobristKey() < getZobristKey();
+    }
+
+    /**
+     * Returns true if the {@code Piece} at the given index can
+     * be moved in the specified direction. Otherwise, the method
+     * returns false.
+     * @param index The index of the {@code Piece} to be examined.
+     * @param direction The direction in which the {@code Piece} would be moved.
+     * @return True if the {@code Piece} at the given index can
+     * be moved in the specified direction. Otherwise, the method
+     * returns false.
+     * @throws IllegalArgumentException If the index does not correspond
+     * to an index of a piece.
+     */
+    boolean canMove(int index, Direction direction);
+
+    /**
+     * Moves the {@link Piece} at the given index in the specified direction.
+     * If the move is not allowed, the state remains unchanged.
+     * @param index The index of the {@code Piece} to be moved.
+     * @param direction The direction in which the {@code Piece} should be moved.
+     * @throws IllegalArgumentException If the index does not correspond
+     * to an index of a piece.
+     */
+    void move(int index, Direction direction);
+
+    /**
+     * Determines if the state is a goal state of the game.
+     * @return True if the state is a goal state. Otherwise, the method returns false.
+     */
+    boolean isGoal();
+
+    /**
+     * Determines if the state is a state in which the fox wins.
+     * @return True if the fox wins in the state. Otherwise, the method returns false.
+     */
+    boolean foxWins();
+
+    /**
+     * Determines if the state is a state in which the dogs win.
+     * @return True if the dogs win in the state. Otherwise, the method returns false.
+     */
+    boolean dogWins();
+
+    /**
+     * Returns the possible moves of the {@link Piece} at the given index,
+     * regardless of which type of piece can be moved next.
+     * @param index The index of the piece.
+     * @return A {@code List} containing the directions in which the piece
+     * at the given index can be moved.
+     */
+    List<Direction> getPossibleMoves(int index);
+
+    /**
+     * Returns true if the square at the specified position is empty.
+     * Otherwise, this method returns false.
+     * @param position The position to be checked.
+     * @return True if the square at the given position is empty. Otherwise,
+     * this method returns false.
+     */
+    boolean isSquareEmpty(Position position);
+
+    /**
+     * Returns a deep copy of the state.
+     * @return A deep copy of the state.
+     */
+    GameState clone();
+}
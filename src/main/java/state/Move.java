@@ -0,0 +1,115 @@
+package state;
+
+/**
+ * Provides the encoding of moves into primitive {@code int} values.
+ * The squares of the board are numbered from 0 to 63 row by row,
+ * so the square of a position is {@code row * BOARD_SIZE + col}.
+ * A move is encoded as the source square in the lowest six bits and
+ * the target square in the next six bits.
+ */
+public final class Move {
+
+    /**
+     * The value that does not represent any move.
+     */
+    public static final int NONE = 0;
+
+    private static final int SQUARE_MASK = 0x3F;
+
+    private Move() {
+    }
+
+    /**
+     * Returns the encoded move from the source square to the target square.
+     * @param from The source square of the move.
+     * @param to The target square of the move.
+     * @return The encoded move.
+     */
+    public static int of(int from, int to) {
+        return from | (to << 6);
+    }
+
+    /**
+     * Returns the source square of the encoded move.
+     * @param move The encoded move.
+     * @return The source square of the move.
+     */
+    public static int from(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    /**
+     * Returns the target square of the encoded move.
+     * @param move The encoded move.
+     * @return The target square of the move.
+     */
+    public static int to(int move) {
+        return (move >>> 6) & SQUARE_MASK;
+    }
+
+    /**
+     * Returns the square of the given position.
+     * @param row The row coordinate of the position.
+     * @param col The column coordinate of the position.
+     * @return The square of the position.
+     */
+    public static int square(int row, int col) {
+        return row * BoardState.BOARD_SIZE + col;
+    }
+
+    /**
+     * Returns the row coordinate of the given square.
+     * @param square The square.
+     * @return The row coordinate of the square.
+     */
+    public static int row(int square) {
+        return square / BoardState.BOARD_SIZE;
+    }
+
+    /**
+     * Returns the column coordinate of the given square.
+     * @param square The square.
+     * @return The column coordinate of the square.
+     */
+    public static int col(int square) {
+        return square % BoardState.BOARD_SIZE;
+    }
+
+    /**
+     * Returns the mirror image of the given square in the vertical axis of the board,
+     * so the square {@code (row, col)} becomes {@code (row, BOARD_SIZE - 1 - col)}.
+     * @param square The square.
+     * @return The mirrored square.
+     */
+    public static int mirrorSquare(int square) {
+        return square ^ (BoardState.BOARD_SIZE - 1);
+    }
+
+    /**
+     * Returns the mirror image of the encoded move in the vertical axis of the board.
+     * @param move The encoded move, or {@link #NONE}.
+     * @return The move between the mirrored squares, or {@link #NONE} if no move was given.
+     */
+    public static int mirror(int move) {
+        return move == NONE ? NONE : of(mirrorSquare(from(move)), mirrorSquare(to(move)));
+    }
+
+    /**
+     * Returns the direction in which the encoded move is made.
+     * @param move The encoded move.
+     * @return The direction of the move.
+     */
+    public static Direction direction(int move) {
+        return Direction.between(from(move), to(move));
+    }
+
+    /**
+     * Returns the textual representation of the encoded move.
+     * @param move The encoded move.
+     * @return The textual representation of the move, for example {@code (7,1)->(6,0)}.
+     */
+    public static String toString(int move) {
+        return String.format("(%d,%d)->(%d,%d)",
+                row(from(move)), col(from(move)), row(to(move)), col(to(move)));
+    }
+}
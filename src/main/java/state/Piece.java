@@ -14,7 +14,7 @@ public class Piece implements Cloneable {
      */
     public Piece(PieceType pieceType, Position position) {
         this.pieceType = pieceType;
-        this.position = position.clone();
+        this.position = position;
     }
 
     /**
@@ -43,6 +43,14 @@ public class Piece implements Cloneable {
         return this.position;
     }
 
+    /**
+     * Sets the position of the piece. Only the states of the game move the pieces.
+     * @param position The new position of the piece.
+     */
+    void setPosition(Position position) {
+        this.position = position;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -65,7 +73,6 @@ public class Piece implements Cloneable {
         } catch (CloneNotSupportedException e) {
             throw new AssertionError();
         }
-        copy.position = this.position.clone();
         return copy;
     }
 
@@ -1,24 +1,84 @@
 package state;
 
-import java.util.Objects;
-
 /**
- * Represents a 2D position.
+ * Represents an immutable 2D position.
+ * <p>
+ * The positions are obtained with {@link #of(int, int)}. The positions of the
+ * squares of the board, and of the squares directly around the board, are created
+ * once and shared, so two such positions are equal if and only if they are
+ * the same object. The diagonal neighbours of the squares of the board are
+ * looked up in precomputed tables, so moving on the board creates no objects.
  */
-public class Position implements Cloneable {
+public final class Position {
+
+    /**
+     * The smallest coordinate of the shared positions.
+     */
+    private static final int MIN_SHARED = -1;
+
+    /**
+     * The number of shared positions in a row or a column.
+     */
+    private static final int SHARED_SIZE = BoardState.BOARD_SIZE + 2;
 
-    private int row;
-    private int col;
+    private static final Position[] SHARED = new Position[SHARED_SIZE * SHARED_SIZE];
 
     /**
-     * Creates a {@code Position} object.
+     * The diagonal neighbours of the squares of the board, indexed by the ordinal
+     * of the direction and the square given by {@link Move#square(int, int)}.
+     */
+    private static final Position[][] NEIGHBOURS =
+            new Position[Direction.values().length][BoardState.BOARD_SIZE * BoardState.BOARD_SIZE];
+
+    static {
+        for (int row = MIN_SHARED; row < MIN_SHARED + SHARED_SIZE; row++) {
+            for (int col = MIN_SHARED; col < MIN_SHARED + SHARED_SIZE; col++) {
+                SHARED[sharedIndex(row, col)] = new Position(row, col);
+            }
+        }
+        for (var direction : Direction.values()) {
+            for (int square = 0; square < BoardState.BOARD_SIZE * BoardState.BOARD_SIZE; square++) {
+                NEIGHBOURS[direction.ordinal()][square] = of(Move.row(square) + direction.getRowChange(),
+                        Move.col(square) + direction.getColChange());
+            }
+        }
+    }
+
+    private final int row;
+    private final int col;
+
+    private Position(int row, int col) {
+        this.row = row;
+        this.col = col;
+    }
+
+    /**
+     * Returns the position with the given coordinates. The positions on the board
+     * and directly around the board are shared, other positions are created by
+     * each call of this method.
      *
      * @param row the row coordinate of the position
      * @param col the column coordinate of the position
+     * @return The position with the given coordinates.
      */
-    public Position(int row, int col) {
-        this.row = row;
-        this.col = col;
+    public static Position of(int row, int col) {
+        if (isShared(row, col)) {
+            return SHARED[sharedIndex(row, col)];
+        }
+        return new Position(row, col);
+    }
+
+    private static boolean isShared(int row, int col) {
+        return row >= MIN_SHARED && row < MIN_SHARED + SHARED_SIZE
+                && col >= MIN_SHARED && col < MIN_SHARED + SHARED_SIZE;
+    }
+
+    private static int sharedIndex(int row, int col) {
+        return (row - MIN_SHARED) * SHARED_SIZE + (col - MIN_SHARED);
+    }
+
+    private boolean isOnBoard() {
+        return row >= 0 && row < BoardState.BOARD_SIZE && col >= 0 && col < BoardState.BOARD_SIZE;
     }
 
     /**
@@ -42,7 +102,10 @@ public class Position implements Cloneable {
      * @param direction a direction that specifies a change in the coordinates
      */
     public Position getPositionAt(Direction direction) {
-        return new Position(row + direction.getRowChange(), col + direction.getColChange());
+        if (isOnBoard()) {
+            return NEIGHBOURS[direction.ordinal()][Move.square(row, col)];
+        }
+        return of(row + direction.getRowChange(), col + direction.getColChange());
     }
 
     /**
@@ -83,50 +146,6 @@ public class Position implements Cloneable {
         return getPositionAt(Direction.DOWN_RIGHT);
     }
 
-    /**
-     * Changes the position by the coordinate changes of the direction given.
-     *
-     * @param direction a direction that specifies a change in the coordinates
-     */
-    public void setTo(Direction direction) {
-        row += direction.getRowChange();
-        col += direction.getColChange();
-    }
-
-    /**
-     * Changes the position by the coordinate changes of the UP_LEFT
-     * direction, meaning that the row and column coordinates will be decreased by one.
-     */
-    public void setUpLeft() {
-        setTo(Direction.UP_LEFT);
-    }
-
-    /**
-     * Changes the position by the coordinate changes of the UP_RIGHT
-     * direction, meaning that the row coordinate will be decreased by one,
-     * and the column coordinate will be increased by one.
-     */
-    public void setUpRight() {
-        setTo(Direction.UP_RIGHT);
-    }
-
-    /**
-     * Changes the position by the coordinate changes of the DOWN_LEFT
-     * direction, meaning that the row coordinate will be increased by one,
-     * and the column coordinate will be decreased by one.
-     */
-    public void setDownLeft() {
-        setTo(Direction.DOWN_LEFT);
-    }
-
-    /**
-     * Changes the position by the coordinate changes of the DOWN_RIGHT
-     * direction, meaning that the row and column coordinates will be increased by one.
-     */
-    public void setDownRight() {
-        setTo(Direction.DOWN_RIGHT);
-    }
-
     @Override
     public boolean equals(Object o) {
         if (o == this) {
@@ -137,18 +156,16 @@ public class Position implements Cloneable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return 31 * (31 + row) + col;
     }
 
+    /**
+     * Returns this position, as positions are immutable.
+     * @return This position.
+     */
     @Override
     public Position clone() {
-        Position copy;
-        try {
-            copy = (Position) super.clone();
-        } catch (CloneNotSupportedException e) {
-            throw new AssertionError();
-        }
-        return copy;
+        return this;
     }
 
     @Override
@@ -0,0 +1,213 @@
+package state;
+
+/**
+ * Provides the encoding of the states of the game into primitive {@code int} codes.
+ * The code of a state contains the square of the fox in its lowest six bits,
+ * the squares of the four dogs in the increasing order in the next 24 bits, and
+ * whether the fox can be moved next in the 31st bit, so every code is a
+ * non-negative {@code int}. Since the dogs are sorted, equal states have equal
+ * codes in every implementation of {@link GameState}, whatever the order of their
+ * pieces is, and the codes can be used as keys of tables and files.
+ * <p>
+ * The bulk methods encode and decode arrays of states, either one code per
+ * {@code int}, or two codes per {@code long} for twice as dense storage.
+ */
+public final class PositionCodec {
+
+    /**
+     * The number of bits used by a code.
+     */
+    public static final int BITS = 31;
+
+    private static final int SQUARE_BITS = 6;
+
+    private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+
+    private static final int NUMBER_OF_DOGS = 4;
+
+    private static final int FOX_TO_MOVE_BIT = 1 << (SQUARE_BITS * (NUMBER_OF_DOGS + 1));
+
+    private static final long CODE_MASK = (1L << BITS) - 1;
+
+    private PositionCodec() {
+    }
+
+    /**
+     * Returns the code of the state given by its bitboard of dogs, the square of
+     * the fox and the side to move.
+     * @param dogs The bitboard of the dogs, which must contain exactly four dogs.
+     * @param fox The square of the fox.
+     * @param foxToMove True if the fox can be moved next.
+     * @return The code of the state.
+     * @throws IllegalArgumentException If the bitboard does not contain exactly four dogs,
+     * or the fox is not on a square of the board.
+     */
+    public static int encode(long dogs, int fox, boolean foxToMove) {
+        if (Long.bitCount(dogs) != NUMBER_OF_DOGS || (fox & ~SQUARE_MASK) != 0) {
+            throw new IllegalArgumentException();
+        }
+        int code = fox | (foxToMove ? FOX_TO_MOVE_BIT : 0);
+        int shift = SQUARE_BITS;
+        for (long remaining = dogs; remaining != 0; remaining &= remaining - 1) {
+            code |= Long.numberOfTrailingZeros(remaining) << shift;
+            shift += SQUARE_BITS;
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code of the given state.
+     * @param state The state.
+     * @return The code of the state.
+     * @throws IllegalArgumentException If the state does not have exactly one fox
+     * and four dogs.
+     */
+    public static int encode(GameState state) {
+        BitboardState bitboardState = state instanceof BitboardState b ? b : new BitboardState(state);
+        return encode(bitboardState.getDogs(), bitboardState.getFoxSquare(), bitboardState.isFoxToMove());
+    }
+
+    /**
+     * Returns the square of the fox in the state with the given code.
+     * @param code The code of the state.
+     * @return The square of the fox.
+     */
+    public static int fox(int code) {
+        return code & SQUARE_MASK;
+    }
+
+    /**
+     * Returns the bitboard of the dogs in the state with the given code.
+     * @param code The code of the state.
+     * @return The bitboard of the dogs.
+     */
+    public static long dogs(int code) {
+        long dogs = 0L;
+        for (int i = 1; i <= NUMBER_OF_DOGS; i++) {
+            dogs |= 1L << ((code >>> (i * SQUARE_BITS)) & SQUARE_MASK);
+        }
+        return dogs;
+    }
+
+    /**
+     * Returns true if the fox can be moved next in the state with the given code.
+     * @param code The code of the state.
+     * @return True if the fox can be moved next.
+     */
+    public static boolean isFoxToMove(int code) {
+        return (code & FOX_TO_MOVE_BIT) != 0;
+    }
+
+    /**
+     * Returns the state with the given code.
+     * @param code The code of the state.
+     * @return The state with the given code.
+     * @throws IllegalArgumentException If the code does not correspond to a valid state.
+     */
+    public static BitboardState decode(int code) {
+        if (code < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new BitboardState(dogs(code), fox(code), isFoxToMove(code) ? PieceType.FOX : PieceType.DOG);
+    }
+
+    /**
+     * Returns the state with the given code as a {@code BoardState} object,
+     * in which the fox has the index 0 and the dogs follow in the increasing
+     * order of their squares.
+     * @param code The code of the state.
+     * @return The state with the given code.
+     * @throws IllegalArgumentException If the code does not correspond to a valid state.
+     */
+    public static BoardState decodeBoardState(int code) {
+        return decode(code).toBoardState();
+    }
+
+    /**
+     * Returns the codes of the given states.
+     * @param states The states.
+     * @return The codes of the states, in the order of the states.
+     * @throws IllegalArgumentException If a state does not have exactly one fox
+     * and four dogs.
+     */
+    public static int[] encodeAll(GameState[] states) {
+        int[] codes = new int[states.length];
+        for (int i = 0; i < states.length; i++) {
+            codes[i] = encode(states[i]);
+        }
+        return codes;
+    }
+
+    /**
+     * Returns the states with the given codes.
+     * @param codes The codes of the states.
+     * @return The states, in the order of the codes.
+     * @throws IllegalArgumentException If a code does not correspond to a valid state.
+     */
+    public static BitboardState[] decodeAll(int[] codes) {
+        BitboardState[] states = new BitboardState[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            states[i] = decode(codes[i]);
+        }
+        return states;
+    }
+
+    /**
+     * Returns the codes of the given states packed two by two into {@code long} values.
+     * The code of the state with the even index is stored in the lower half of
+     * a value, and the code of the next state in the upper half. If the number of states
+     * is odd, the upper half of the last value is zero.
+     * @param states The states.
+     * @return The packed codes of the states.
+     * @throws IllegalArgumentException If a state does not have exactly one fox
+     * and four dogs.
+     */
+    public static long[] encodePacked(GameState[] states) {
+        return pack(encodeAll(states));
+    }
+
+    /**
+     * Returns the states whose codes are packed two by two into {@code long} values
+     * by {@link #encodePacked(GameState[])}.
+     * @param packed The packed codes.
+     * @param count The number of states, which is needed to tell whether the upper half
+     * of the last value is a code.
+     * @return The states, in the order of the codes.
+     * @throws IllegalArgumentException If the number of states does not fit the packed codes,
+     * or a code does not correspond to a valid state.
+     */
+    public static BitboardState[] decodePacked(long[] packed, int count) {
+        return decodeAll(unpack(packed, count));
+    }
+
+    /**
+     * Packs the given codes two by two into {@code long} values.
+     * @param codes The codes.
+     * @return The packed codes, see {@link #encodePacked(GameState[])}.
+     */
+    public static long[] pack(int[] codes) {
+        long[] packed = new long[(codes.length + 1) / 2];
+        for (int i = 0; i < codes.length; i++) {
+            packed[i >>> 1] |= (codes[i] & CODE_MASK) << ((i & 1) * Integer.SIZE);
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks the codes packed by {@link #pack(int[])}.
+     * @param packed The packed codes.
+     * @param count The number of codes.
+     * @return The codes.
+     * @throws IllegalArgumentException If the number of codes does not fit the packed codes.
+     */
+    public static int[] unpack(long[] packed, int count) {
+        if (count < 0 || (count + 1) / 2 != packed.length) {
+            throw new IllegalArgumentException();
+        }
+        int[] codes = new int[count];
+        for (int i = 0; i < count; i++) {
+            codes[i] = (int) ((packed[i >>> 1] >>> ((i & 1) * Integer.SIZE)) & CODE_MASK);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,69 @@
+package state;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Represents the implementations of the {@link GameState} interface
+ * that can be selected to play the game with.
+ */
+public enum StateEngine {
+
+    /**
+     * The reference implementation which stores {@link Piece} objects.
+     */
+    REFERENCE(BoardState::new, state -> state instanceof BoardState boardState
+            ? boardState.clone() : new BitboardState(state).toBoardState()),
+
+    /**
+     * The implementation which stores the pieces in bitboards.
+     */
+    BITBOARD(BitboardState::new, BitboardState::new);
+
+    /**
+     * The name of the system property which selects the engine.
+     */
+    public static final String PROPERTY_NAME = "foxcatcher.engine";
+
+    private final Supplier<GameState> initialStateSupplier;
+
+    private final Function<GameState, GameState> converter;
+
+    StateEngine(Supplier<GameState> initialStateSupplier, Function<GameState, GameState> converter) {
+        this.initialStateSupplier = initialStateSupplier;
+        this.converter = converter;
+    }
+
+    /**
+     * Returns a new state which represents the initial state of the game.
+     * @return A new state which represents the initial state of the game.
+     */
+    public GameState initialState() {
+        return initialStateSupplier.get();
+    }
+
+    /**
+     * Returns a new state of this engine which represents the same state as the given one.
+     * @param state The state to be converted.
+     * @return A new state of this engine which represents the same state as the given one.
+     */
+    public GameState convert(GameState state) {
+        return converter.apply(state);
+    }
+
+    /**
+     * Returns the engine selected by the {@value #PROPERTY_NAME} system property.
+     * If the property is not set or its value is not the name of an engine,
+     * the {@link #REFERENCE} engine is returned.
+     * @return The selected engine.
+     */
+    public static StateEngine selected() {
+        String name = System.getProperty(PROPERTY_NAME, REFERENCE.name());
+        for (var engine : values()) {
+            if (engine.name().equalsIgnoreCase(name)) {
+                return engine;
+            }
+        }
+        return REFERENCE;
+    }
+}
@@ -0,0 +1,118 @@
+package state;
+
+import java.util.SplittableRandom;
+
+/**
+ * Provides the Zobrist keys of the states of the game. The key of a state is
+ * the exclusive or of the keys of its pieces, where each pair of a piece type and
+ * a square has its own random key, and the key of the fox to move if the fox can
+ * be moved next. Since the exclusive or can be undone, the key of a state can be
+ * updated after a move by toggling the keys of the source and the target square
+ * of the moved piece and the key of the side to move. The keys are generated from
+ * a fixed seed, so they are the same in every run of the program.
+ * <p>
+ * The rules of the game do not change when the board is mirrored in its vertical
+ * axis, so a state and its mirror image have the same outcome. The mirrored key of
+ * a state is the key of its mirror image, and it can be updated after a move the
+ * same way as the key, with {@link #mirroredMoveKey(PieceType, int, int)}.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final int NUMBER_OF_SQUARES = BoardState.BOARD_SIZE * BoardState.BOARD_SIZE;
+
+    private static final long[][] PIECE_KEYS = new long[PieceType.values().length][NUMBER_OF_SQUARES];
+
+    /**
+     * The key which is toggled when the fox becomes or stops being the side to move.
+     */
+    public static final long FOX_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] keys : PIECE_KEYS) {
+            for (int square = 0; square < keys.length; square++) {
+                keys[square] = random.nextLong();
+            }
+        }
+        FOX_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece of the given type on the given square.
+     * @param pieceType The type of the piece.
+     * @param square The square of the piece, as defined by {@link Move#square(int, int)}.
+     * @return The key of the piece on the square.
+     */
+    public static long pieceKey(PieceType pieceType, int square) {
+        return PIECE_KEYS[pieceType.ordinal()][square];
+    }
+
+    /**
+     * Returns the key of the side to move.
+     * @param pieceTypeToMove The type of the piece that can be moved next.
+     * @return The key of the side to move.
+     */
+    public static long sideKey(PieceType pieceTypeToMove) {
+        return pieceTypeToMove == PieceType.FOX ? FOX_TO_MOVE : 0L;
+    }
+
+    /**
+     * Returns the key by which the key of a state changes when the piece of the given
+     * type is moved from the source square to the target square.
+     * @param pieceType The type of the moved piece.
+     * @param from The source square.
+     * @param to The target square.
+     * @return The key to be toggled in the key of the state.
+     */
+    public static long moveKey(PieceType pieceType, int from, int to) {
+        long[] keys = PIECE_KEYS[pieceType.ordinal()];
+        return keys[from] ^ keys[to] ^ FOX_TO_MOVE;
+    }
+
+    /**
+     * Returns the key by which the mirrored key of a state changes when the piece
+     * of the given type is moved from the source square to the target square.
+     * @param pieceType The type of the moved piece.
+     * @param from The source square.
+     * @param to The target square.
+     * @return The key to be toggled in the mirrored key of the state.
+     */
+    public static long mirroredMoveKey(PieceType pieceType, int from, int to) {
+        return moveKey(pieceType, Move.mirrorSquare(from), Move.mirrorSquare(to));
+    }
+
+    /**
+     * Computes the key of the given state from scratch.
+     * @param state The state.
+     * @return The key of the state.
+     */
+    public static long hash(GameState state) {
+        long key = sideKey(state.getPieceTypeToMove());
+        for (int i = 0; i < state.getNumberOfPieces(); i++) {
+            Piece piece = state.getPiece(i);
+            key ^= pieceKey(piece.getPieceType(),
+                    Move.square(piece.getPosition().row(), piece.getPosition().col()));
+        }
+        return key;
+    }
+
+    /**
+     * Computes the key of the mirror image of the given state from scratch.
+     * @param state The state.
+     * @return The key of the mirror image of the state.
+     */
+    public static long mirroredHash(GameState state) {
+        long key = sideKey(state.getPieceTypeToMove());
+        for (int i = 0; i < state.getNumberOfPieces(); i++) {
+            Piece piece = state.getPiece(i);
+            key ^= pieceKey(piece.getPieceType(),
+                    Move.mirrorSquare(Move.square(piece.getPosition().row(), piece.getPosition().col())));
+        }
+        return key;
+    }
+}
@@ -0,0 +1,103 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+import state.BitboardState;
+import state.BoardState;
+import state.GameState;
+import state.Move;
+import state.Piece;
+import state.PieceType;
+import state.Position;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaBetaPlayerTest {
+
+    AlphaBetaPlayer player(int maxDepth) {
+        return new AlphaBetaPlayer(new TranspositionTable(1 << 16), 60_000, maxDepth);
+    }
+
+    @Test
+    void constructor_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new AlphaBetaPlayer(-1));
+        assertThrows(IllegalArgumentException.class, () -> player(0));
+        assertThrows(IllegalArgumentException.class, () -> player(AlphaBetaPlayer.MAX_PLY));
+    }
+
+    @Test
+    void search_findsWinningMoveOfTheFox() {
+        GameState state = new BoardState(
+                PieceType.FOX,
+                new Piece(PieceType.FOX, Position.of(4, 4)),
+                new Piece(PieceType.DOG, Position.of(3, 1)),
+                new Piece(PieceType.DOG, Position.of(4, 2)),
+                new Piece(PieceType.DOG, Position.of(3, 5)),
+                new Piece(PieceType.DOG, Position.of(4, 6)));
+        SearchResult result = player(6).search(state);
+        assertEquals(AlphaBetaPlayer.WIN - 1, result.value());
+        assertEquals(1, result.depth());
+        BitboardState next = new BitboardState(state);
+        next.makeMove(result.bestMove());
+        assertTrue(next.foxWins());
+    }
+
+    @Test
+    void search_findsWinningMoveOfTheDogs() {
+        GameState state = new BoardState(
+                PieceType.DOG,
+                new Piece(PieceType.FOX, Position.of(0, 4)),
+                new Piece(PieceType.DOG, Position.of(2, 4)),
+                new Piece(PieceType.DOG, Position.of(1, 3)),
+                new Piece(PieceType.DOG, Position.of(2, 6)),
+                new Piece(PieceType.DOG, Position.of(3, 1)));
+        SearchResult result = player(6).search(state);
+        assertEquals(Move.square(1, 5), Move.to(result.bestMove()));
+        assertEquals(AlphaBetaPlayer.WIN - 1, result.value());
+    }
+
+    @Test
+    void search_mirroredStateSharesTableEntries() {
+        BoardState state = new BoardState(
+                PieceType.DOG,
+                new Piece(PieceType.FOX, Position.of(0, 4)),
+                new Piece(PieceType.DOG, Position.of(2, 4)),
+                new Piece(PieceType.DOG, Position.of(1, 3)),
+                new Piece(PieceType.DOG, Position.of(2, 6)),
+                new Piece(PieceType.DOG, Position.of(3, 1)));
+        AlphaBetaPlayer player = player(6);
+        SearchResult result = player.search(state);
+        BoardState mirrored = state.mirror();
+        assertEquals(state.getCanonicalKey(), mirrored.getCanonicalKey());
+        assertNotEquals(TranspositionTable.MISS, player.getTable().probe(mirrored.getCanonicalKey()));
+        SearchResult mirroredResult = player.search(mirrored);
+        assertEquals(Move.mirror(result.bestMove()), mirroredResult.bestMove());
+        assertEquals(Move.square(1, 2), Move.to(mirroredResult.bestMove()));
+        assertEquals(result.value(), mirroredResult.value());
+    }
+
+    @Test
+    void search_initialState() {
+        BitboardState state = new BitboardState();
+        SearchResult result = player(8).search(state);
+        assertEquals(8, result.depth());
+        assertTrue(result.nodes() > 0);
+        assertTrue(result.nodesPerSecond() > 0);
+        assertEquals(new BitboardState(), state);
+        state.makeMove(result.bestMove());
+        assertTrue(state.isFoxToMove());
+    }
+
+    @Test
+    void search_goalState() {
+        GameState state = new BoardState(
+                PieceType.FOX,
+                new Piece(PieceType.FOX, Position.of(0, 4)),
+                new Piece(PieceType.DOG, Position.of(2, 4)),
+                new Piece(PieceType.DOG, Position.of(1, 3)),
+                new Piece(PieceType.DOG, Position.of(3, 3)),
+                new Piece(PieceType.DOG, Position.of(1, 5)));
+        SearchResult result = player(4).search(state);
+        assertEquals(Move.NONE, result.bestMove());
+        assertEquals(-AlphaBetaPlayer.WIN, result.value());
+    }
+}
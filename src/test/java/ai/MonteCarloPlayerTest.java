@@ -0,0 +1,90 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+import state.BitboardState;
+import state.BoardState;
+import state.GameState;
+import state.Move;
+import state.Piece;
+import state.PieceType;
+import state.Position;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloPlayerTest {
+
+    MonteCarloPlayer player(int threads, long maxPlayouts) {
+        return new MonteCarloPlayer(threads, 60_000, maxPlayouts, new SplittableRandom(42));
+    }
+
+    @Test
+    void constructor_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloPlayer(0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloPlayer(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> player(1, 0));
+    }
+
+    @Test
+    void search_findsWinningMoveOfTheFox() {
+        GameState state = new BoardState(
+                PieceType.FOX,
+                new Piece(PieceType.FOX, Position.of(4, 4)),
+                new Piece(PieceType.DOG, Position.of(3, 1)),
+                new Piece(PieceType.DOG, Position.of(4, 2)),
+                new Piece(PieceType.DOG, Position.of(3, 5)),
+                new Piece(PieceType.DOG, Position.of(4, 6)));
+        try (MonteCarloPlayer player = player(1, 2000)) {
+            SearchResult result = player.search(state);
+            assertEquals(2000, result.nodes());
+            assertEquals(1000, result.value());
+            BitboardState next = new BitboardState(state);
+            next.makeMove(result.bestMove());
+            assertTrue(next.foxWins());
+        }
+    }
+
+    @Test
+    void search_findsWinningMoveOfTheDogs() {
+        GameState state = new BoardState(
+                PieceType.DOG,
+                new Piece(PieceType.FOX, Position.of(0, 4)),
+                new Piece(PieceType.DOG, Position.of(2, 4)),
+                new Piece(PieceType.DOG, Position.of(1, 3)),
+                new Piece(PieceType.DOG, Position.of(2, 6)),
+                new Piece(PieceType.DOG, Position.of(3, 1)));
+        try (MonteCarloPlayer player = player(4, 20_000)) {
+            SearchResult result = player.search(state);
+            assertEquals(20_000, result.nodes());
+            assertEquals(Move.square(1, 5), Move.to(result.bestMove()));
+        }
+    }
+
+    @Test
+    void search_initialState() {
+        try (MonteCarloPlayer player = player(3, 5000)) {
+            BitboardState state = new BitboardState();
+            SearchResult result = player.search(state);
+            assertEquals(5000, result.nodes());
+            assertTrue(result.depth() > 1);
+            assertEquals(new BitboardState(), state);
+            state.makeMove(result.bestMove());
+            assertTrue(state.isFoxToMove());
+        }
+    }
+
+    @Test
+    void search_goalState() {
+        GameState state = new BoardState(
+                PieceType.FOX,
+                new Piece(PieceType.FOX, Position.of(0, 4)),
+                new Piece(PieceType.DOG, Position.of(2, 4)),
+                new Piece(PieceType.DOG, Position.of(1, 3)),
+                new Piece(PieceType.DOG, Position.of(3, 3)),
+                new Piece(PieceType.DOG, Position.of(1, 5)));
+        try (MonteCarloPlayer player = player(1, 100)) {
+            assertEquals(Move.NONE, player.search(state).bestMove());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+import state.BitboardState;
+import state.BoardState;
+import state.GameState;
+import state.Piece;
+import state.PieceType;
+import state.Position;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelAlphaBetaPlayerTest {
+
+    ParallelAlphaBetaPlayer player(int threads, int maxDepth) {
+        return new ParallelAlphaBetaPlayer(new TranspositionTable(1 << 16), threads, 60_000, maxDepth);
+    }
+
+    @Test
+    void constructor_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelAlphaBetaPlayer(0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> player(2, 0));
+    }
+
+    @Test
+    void search_sameWinAsSingleThreadedSearch() {
+        GameState state = new BoardState(
+                PieceType.DOG,
+                new Piece(PieceType.FOX, Position.of(0, 4)),
+                new Piece(PieceType.DOG, Position.of(2, 4)),
+                new Piece(PieceType.DOG, Position.of(1, 3)),
+                new Piece(PieceType.DOG, Position.of(2, 6)),
+                new Piece(PieceType.DOG, Position.of(3, 1)));
+        SearchResult expected = new AlphaBetaPlayer(new TranspositionTable(1 << 16), 60_000, 6).search(state);
+        try (ParallelAlphaBetaPlayer player = player(4, 6)) {
+            assertEquals(4, player.getThreads());
+            SearchResult result = player.search(state);
+            assertEquals(expected.value(), result.value());
+            BitboardState next = new BitboardState(state);
+            next.makeMove(result.bestMove());
+            assertTrue(next.dogWins());
+        }
+    }
+
+    @Test
+    void search_initialState() {
+        try (ParallelAlphaBetaPlayer player = player(3, 10)) {
+            for (int i = 0; i < 3; i++) {
+                BitboardState state = new BitboardState();
+                SearchResult result = player.search(state);
+                assertEquals(10, result.depth());
+                assertEquals(new BitboardState(), state);
+                assertTrue(result.nodes() > 0);
+                state.makeMove(result.bestMove());
+                assertTrue(state.isFoxToMove());
+            }
+        }
+    }
+
+    @Test
+    void search_singleThread() {
+        try (ParallelAlphaBetaPlayer player = player(1, 8)) {
+            SearchResult result = player.search(new BoardState());
+            assertEquals(8, result.depth());
+        }
+    }
+}
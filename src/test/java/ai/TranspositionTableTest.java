@@ -0,0 +1,106 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+import state.BitboardState;
+import state.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    TranspositionTable table = new TranspositionTable(16);
+
+    long key = new BitboardState().getZobristKey();
+
+    @Test
+    void testConstructor() {
+        assertEquals(16, table.capacity());
+        assertEquals(16, new TranspositionTable(31).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(1));
+    }
+
+    @Test
+    void probe() {
+        assertEquals(TranspositionTable.MISS, table.probe(key));
+        table.store(key, 7, TranspositionTable.LOWER_BOUND, -1234, Move.of(57, 48));
+        long entry = table.probe(key);
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(-1234, TranspositionTable.value(entry));
+        assertEquals(Move.of(57, 48), TranspositionTable.move(entry));
+        assertEquals(1, table.getHits());
+        assertEquals(1, table.getMisses());
+        assertEquals(1, table.getStores());
+    }
+
+    @Test
+    void store_keepsMoveOfSameState() {
+        table.store(key, 3, TranspositionTable.EXACT, 10, Move.of(2, 9));
+        table.store(key, 4, TranspositionTable.UPPER_BOUND, 5, Move.NONE);
+        long entry = table.probe(key);
+        assertEquals(4, TranspositionTable.depth(entry));
+        assertEquals(Move.of(2, 9), TranspositionTable.move(entry));
+    }
+
+    @Test
+    void store_prefersDeeperEntries() {
+        long other = key + 16; // a key in the same bucket
+        long third = key + 32;
+        table.store(key, 10, TranspositionTable.EXACT, 1, Move.NONE);
+        table.store(other, 2, TranspositionTable.EXACT, 2, Move.NONE);
+        table.store(third, 3, TranspositionTable.EXACT, 3, Move.NONE);
+        assertEquals(1, TranspositionTable.value(table.probe(key)));
+        assertEquals(TranspositionTable.MISS, table.probe(other));
+        assertEquals(1, table.getCollisions());
+        assertEquals(3, TranspositionTable.value(table.probe(third)));
+        table.newSearch();
+        table.store(other, 1, TranspositionTable.EXACT, 2, Move.NONE);
+        assertEquals(2, TranspositionTable.value(table.probe(other)));
+        assertEquals(TranspositionTable.MISS, table.probe(key));
+    }
+
+    @Test
+    void clear() {
+        table.store(key, 1, TranspositionTable.EXACT, 0, Move.NONE);
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(key));
+    }
+
+    @Test
+    void probe_concurrentStoresNeverReturnEntriesOfOtherKeys() throws InterruptedException {
+        TranspositionTable shared = new TranspositionTable(64);
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    long k = random.nextLong(1, 1024);
+                    shared.store(k, (int) (k & 0xFF), TranspositionTable.EXACT, (int) k, Move.NONE);
+                    long entry = shared.probe(random.nextLong(1, 1024));
+                    if (entry != TranspositionTable.MISS
+                            && (TranspositionTable.value(entry) & 0xFF) != TranspositionTable.depth(entry)) {
+                        throw new AssertionError("Inconsistent entry: " + entry);
+                    }
+                }
+            });
+            thread.setUncaughtExceptionHandler((failed, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(List.of(), failures);
+        assertEquals(800_000, shared.getStores());
+        assertEquals(800_000, shared.getHits() + shared.getMisses());
+    }
+}
@@ -0,0 +1,69 @@
+package analysis;
+
+import org.junit.jupiter.api.Test;
+import state.BitboardState;
+import state.BoardState;
+import state.GameState;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+
+    BoardState state = Perft.parse( // a non-final state
+            "{DOG, [FOX: (1,1)], [DOG: (5,1)], [DOG: (4,2)], [DOG: (6,6)], [DOG: (4,6)]}");
+
+    @Test
+    void perft() {
+        assertEquals(1, Perft.perft(new BitboardState(), 0));
+        assertEquals(7, Perft.perft(new BitboardState(), 1));
+        assertEquals(14, Perft.perft(new BitboardState(), 2));
+        for (int depth = 0; depth <= 4; depth++) {
+            assertEquals(Perft.perft((GameState) new BoardState(), depth),
+                    Perft.perft(new BitboardState(), depth));
+            assertEquals(Perft.perft((GameState) state, depth),
+                    Perft.perft(new BitboardState(state), depth));
+        }
+    }
+
+    @Test
+    void perft_boardStateMakeUnmake() {
+        BoardState initial = new BoardState();
+        for (int depth = 0; depth <= 5; depth++) {
+            assertEquals(Perft.perft(new BitboardState(), depth), Perft.perft(initial, depth));
+            assertEquals(new BoardState(), initial);
+            assertEquals(new BoardState().getZobristKey(), initial.getZobristKey());
+        }
+        assertEquals(Perft.perft((GameState) state, 4), Perft.perft(state.clone(), 4));
+    }
+
+    @Test
+    void perft_goalState() {
+        BoardState goal = Perft.parse(
+                "{DOG, [FOX: (6,4)], [DOG: (5,1)], [DOG: (4,2)], [DOG: (5,3)], [DOG: (4,4)]}");
+        assertEquals(0, Perft.perft(new BitboardState(goal), 3));
+        assertEquals(0, Perft.perft((GameState) goal, 3));
+    }
+
+    @Test
+    void divide() {
+        Map<String, Long> divide = Perft.divide(new BitboardState(), 3);
+        assertEquals(7, divide.size());
+        assertEquals(Perft.perft(new BitboardState(), 3),
+                divide.values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(divide.containsKey("(7,1)->(6,0)"));
+    }
+
+    @Test
+    void crossCheck() {
+        assertDoesNotThrow(() -> Perft.crossCheck(new BoardState(), 5));
+        assertDoesNotThrow(() -> Perft.crossCheck(state, 4));
+    }
+
+    @Test
+    void parse() {
+        assertEquals(new BoardState(), Perft.parse(new BoardState().toString()));
+        assertThrows(IllegalArgumentException.class, () -> Perft.parse("{DOG}"));
+    }
+}
@@ -0,0 +1,63 @@
+package analysis;
+
+import org.junit.jupiter.api.Test;
+import state.BitboardState;
+import state.BoardState;
+import state.Move;
+import state.Piece;
+import state.PieceType;
+import state.Position;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionIndexTest {
+
+    @Test
+    void size() {
+        assertEquals(35960, PositionIndex.NUMBER_OF_DOG_SETS);
+        assertEquals(35960 * 32 * 2, PositionIndex.SIZE);
+    }
+
+    @Test
+    void compress() {
+        for (int i = 0; i < PositionIndex.NUMBER_OF_SQUARES; i++) {
+            assertTrue(PositionIndex.isPlayable(PositionIndex.expand(i)));
+            assertEquals(i, PositionIndex.compress(PositionIndex.expand(i)));
+        }
+        assertEquals(Move.square(7, 7), PositionIndex.expand(31));
+    }
+
+    @Test
+    void index() {
+        for (int index = 0; index < PositionIndex.SIZE; index += 7) {
+            if (PositionIndex.isValid(index)) {
+                assertEquals(index, PositionIndex.index(PositionIndex.state(index)));
+            }
+        }
+        BitboardState initial = new BitboardState();
+        assertEquals(initial, PositionIndex.state(PositionIndex.index(initial)));
+    }
+
+    @Test
+    void index_unplayableSquare() {
+        BitboardState state = new BitboardState(new BoardState(PieceType.DOG,
+                new Piece(PieceType.FOX, Position.of(0, 1)),
+                new Piece(PieceType.DOG, Position.of(7, 1)),
+                new Piece(PieceType.DOG, Position.of(7, 3)),
+                new Piece(PieceType.DOG, Position.of(7, 5)),
+                new Piece(PieceType.DOG, Position.of(7, 7))));
+        assertEquals(-1, PositionIndex.index(state));
+        assertEquals(-1, PositionIndex.canonicalIndex(state.getDogs(), state.getFoxSquare(), state.isFoxToMove()));
+    }
+
+    @Test
+    void canonicalIndex() {
+        BitboardState initial = new BitboardState();
+        BitboardState mirrored = initial.mirror();
+        assertEquals(-1, PositionIndex.index(mirrored));
+        assertEquals(PositionIndex.index(initial), PositionIndex.canonicalIndex(
+                mirrored.getDogs(), mirrored.getFoxSquare(), mirrored.isFoxToMove()));
+        assertEquals(PositionIndex.index(initial), PositionIndex.canonicalIndex(
+                initial.getDogs(), initial.getFoxSquare(), initial.isFoxToMove()));
+    }
+}
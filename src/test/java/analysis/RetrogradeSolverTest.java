@@ -0,0 +1,94 @@
+package analysis;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import state.BitboardState;
+import state.BoardState;
+import state.Move;
+import state.Piece;
+import state.PieceType;
+import state.Position;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetrogradeSolverTest {
+
+    static RetrogradeSolver solver = new RetrogradeSolver();
+
+    static byte[] outcomes;
+
+    @BeforeAll
+    static void solve() {
+        outcomes = solver.solve();
+    }
+
+    @Test
+    void getOutcome() {
+        assertEquals(Outcome.of(PieceType.DOG, 43), solver.getOutcome(new BoardState()));
+        assertEquals(Outcome.of(PieceType.FOX, 0), solver.getOutcome(new BoardState( // the fox wins
+                PieceType.DOG,
+                new Piece(PieceType.FOX, Position.of(6, 4)),
+                new Piece(PieceType.DOG, Position.of(5, 1)),
+                new Piece(PieceType.DOG, Position.of(4, 2)),
+                new Piece(PieceType.DOG, Position.of(5, 3)),
+                new Piece(PieceType.DOG, Position.of(4, 4)))));
+        assertEquals(Outcome.of(PieceType.DOG, 0), solver.getOutcome(new BoardState( // the dogs win
+                PieceType.FOX,
+                new Piece(PieceType.FOX, Position.of(0, 4)),
+                new Piece(PieceType.DOG, Position.of(2, 4)),
+                new Piece(PieceType.DOG, Position.of(1, 3)),
+                new Piece(PieceType.DOG, Position.of(3, 3)),
+                new Piece(PieceType.DOG, Position.of(1, 5)))));
+    }
+
+    @Test
+    void getOutcome_mirroredState() {
+        BitboardState initial = new BitboardState(new BoardState());
+        assertEquals(solver.getOutcome(initial), solver.getOutcome(initial.mirror()));
+        BitboardState mixed = new BitboardState(initial.getDogs(), Move.square(0, 3), PieceType.DOG); // the fox on the other colour
+        assertEquals(Outcome.UNKNOWN, solver.getOutcome(mixed));
+    }
+
+    @Test
+    void solve_everyValidStateIsSolved() {
+        int solved = 0;
+        for (int index = 0; index < PositionIndex.SIZE; index++) {
+            assertEquals(PositionIndex.isValid(index), outcomes[index] != Outcome.UNKNOWN);
+            if (outcomes[index] != Outcome.UNKNOWN) {
+                solved++;
+            }
+        }
+        assertEquals(solver.getNumberOfValidStates(), solved);
+    }
+
+    @Test
+    void solve_outcomesAreConsistentWithTheMoves() {
+        int[] moves = new int[BitboardState.MAX_MOVES];
+        for (int index = 0; index < PositionIndex.SIZE; index += 13) {
+            if (!PositionIndex.isValid(index)) {
+                continue;
+            }
+            BitboardState state = PositionIndex.state(index);
+            int count = state.generateMoves(moves);
+            if (state.isGoal() || count == 0) {
+                assertEquals(0, Outcome.distance(outcomes[index]));
+                continue;
+            }
+            PieceType mover = state.getPieceTypeToMove();
+            PieceType winner = Outcome.winner(outcomes[index]);
+            int best = winner == mover ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                state.makeMove(moves[i]);
+                byte child = outcomes[PositionIndex.index(state)];
+                state.unmakeMove(moves[i]);
+                if (winner == mover && Outcome.winner(child) == mover) {
+                    best = Math.min(best, Outcome.distance(child));
+                } else if (winner != mover) {
+                    assertEquals(winner, Outcome.winner(child));
+                    best = Math.max(best, Outcome.distance(child));
+                }
+            }
+            assertEquals(best + 1, Outcome.distance(outcomes[index]));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package analysis;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import state.BitboardState;
+import state.BoardState;
+import state.PieceType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablebaseTest {
+
+    @TempDir
+    static Path directory;
+
+    static byte[] outcomes;
+
+    static Path file;
+
+    @BeforeAll
+    static void writeTablebase() throws IOException {
+        outcomes = new RetrogradeSolver().solve();
+        file = directory.resolve("test.tb");
+        Tablebase.write(outcomes, file);
+    }
+
+    @Test
+    void probe() throws IOException {
+        Tablebase tablebase = Tablebase.open(file);
+        assertTrue(tablebase.verify());
+        assertEquals(Outcome.of(PieceType.DOG, 43), tablebase.probe(new BoardState()));
+        for (int index = 0; index < PositionIndex.SIZE; index += 101) {
+            assertEquals(outcomes[index], tablebase.probe(index));
+            if (PositionIndex.isValid(index)) {
+                BitboardState state = PositionIndex.state(index);
+                assertEquals(outcomes[index], tablebase.probe(state));
+                assertEquals(outcomes[index], tablebase.probe(state.toBoardState()));
+                assertEquals(outcomes[index], tablebase.probe(state.mirror()));
+            }
+        }
+    }
+
+    @Test
+    void open_invalidFile() throws IOException {
+        Path invalid = directory.resolve("invalid.tb");
+        Files.write(invalid, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> Tablebase.open(invalid));
+        Files.copy(file, invalid, StandardCopyOption.REPLACE_EXISTING);
+        try (var channel = FileChannel.open(invalid, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0}), 0);
+        }
+        assertThrows(IOException.class, () -> Tablebase.open(invalid));
+    }
+
+    @Test
+    void verify_corruptedEntries() throws IOException {
+        Path corrupted = directory.resolve("corrupted.tb");
+        byte[] copy = outcomes.clone();
+        copy[12345] ^= 1;
+        Tablebase.write(copy, corrupted);
+        byte[] content = Files.readAllBytes(corrupted);
+        System.arraycopy(Files.readAllBytes(file), 0, content, 0, 16);
+        Files.write(corrupted, content);
+        assertFalse(Tablebase.open(corrupted).verify());
+    }
+}
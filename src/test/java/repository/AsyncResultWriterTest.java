@@ -0,0 +1,51 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import results.GameResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static repository.GameResultFixtures.*;
+
+class AsyncResultWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void submit() throws IOException {
+        Path file = directory.resolve("results.log");
+        List<GameResult> expected = new ArrayList<>();
+        try (BinaryResultLog log = BinaryResultLog.open(file, 1000)) {
+            AsyncResultWriter writer = new AsyncResultWriter(log, 1000);
+            for (int i = 0; i < 500; i++) {
+                GameResult result = result(i);
+                assertTrue(writer.submit(result));
+                expected.add(result);
+                if (i % 100 == 0) {
+                    List<GameResult> read = new ArrayList<>();
+                    writer.readAll(read::add);
+                    assertEquals(expected, read);
+                }
+            }
+            writer.close();
+            assertEquals(500, log.size());
+            assertFalse(writer.submit(result(500)));
+        }
+        try (BinaryResultLog log = BinaryResultLog.open(file, 1)) {
+            assertEquals(expected, readAll(log));
+        }
+    }
+
+    @Test
+    void constructor_invalidCapacity() throws IOException {
+        try (BinaryResultLog log = BinaryResultLog.open(directory.resolve("results.log"), 1)) {
+            assertThrows(IllegalArgumentException.class, () -> new AsyncResultWriter(log, 0));
+        }
+    }
+}
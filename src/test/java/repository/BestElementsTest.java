@@ -0,0 +1,43 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BestElementsTest {
+
+    @Test
+    void toList() {
+        List<Integer> elements = new Random(42).ints(1000, 0, 100).boxed().toList();
+        BestElements<Integer> best = new BestElements<>(10, Comparator.naturalOrder());
+        elements.forEach(best);
+        assertEquals(elements.stream().sorted().limit(10).toList(), best.toList());
+    }
+
+    @Test
+    void toList_keepsEarlierOfEqualElements() {
+        BestElements<String> best = new BestElements<>(3, Comparator.comparingInt(String::length));
+        List.of("bb", "a", "cc", "dd", "e").forEach(best);
+        assertEquals(List.of("a", "e", "bb"), best.toList());
+    }
+
+    @Test
+    void toList_fewerElementsThanLimit() {
+        BestElements<Integer> best = new BestElements<>(10, Comparator.reverseOrder());
+        IntStream.range(0, 5).boxed().forEach(best);
+        assertEquals(List.of(4, 3, 2, 1, 0), best.toList());
+        BestElements<Integer> none = new BestElements<>(0, Comparator.naturalOrder());
+        none.accept(1);
+        assertEquals(List.of(), none.toList());
+    }
+
+    @Test
+    void constructor_invalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new BestElements<Integer>(-1, Comparator.naturalOrder()));
+    }
+}
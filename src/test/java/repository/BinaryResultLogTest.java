@@ -0,0 +1,96 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import results.GameResult;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static repository.GameResultFixtures.*;
+
+class BinaryResultLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendAndReadAll() throws IOException {
+        Path file = directory.resolve("results.log");
+        List<GameResult> expected = new ArrayList<>();
+        try (BinaryResultLog log = BinaryResultLog.open(file, 4)) {
+            assertEquals(0, log.size());
+            for (int i = 0; i < 10; i++) {
+                log.append(result(i));
+                expected.add(result(i));
+            }
+            assertEquals(10, log.size());
+            assertEquals(expected, readAll(log));
+        }
+        try (BinaryResultLog log = BinaryResultLog.open(file, 1)) {
+            assertEquals(expected, readAll(log));
+            log.append(GameResult.builder().numberOfMoves(1).build());
+            assertEquals(11, log.size());
+            assertNull(readAll(log).get(10).getTimeOfPlay());
+        }
+    }
+
+    @Test
+    void open_truncatesTornRecord() throws IOException {
+        Path file = directory.resolve("results.log");
+        try (BinaryResultLog log = BinaryResultLog.open(file, 1)) {
+            log.append(result(1));
+            log.append(result(2));
+        }
+        long size = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+        try (BinaryResultLog log = BinaryResultLog.open(file, 1)) {
+            assertEquals(List.of(result(1)), readAll(log));
+            log.append(result(3));
+            assertEquals(List.of(result(1), result(3)), readAll(log));
+        }
+    }
+
+    @Test
+    void open_truncatesCorruptedRecord() throws IOException {
+        Path file = directory.resolve("results.log");
+        try (BinaryResultLog log = BinaryResultLog.open(file, 1)) {
+            log.append(result(1));
+            log.append(result(2));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 10] ^= 0x55;
+        Files.write(file, bytes);
+        try (BinaryResultLog log = BinaryResultLog.open(file, 1)) {
+            assertEquals(1, log.size());
+            assertEquals(List.of(result(1)), readAll(log));
+        }
+    }
+
+    @Test
+    void open_invalidFile() throws IOException {
+        Path file = directory.resolve("results.json");
+        Files.writeString(file, "[{\"playerOne\": \"a\"}]");
+        assertThrows(IOException.class, () -> BinaryResultLog.open(file, 1));
+        assertThrows(IllegalArgumentException.class, () -> BinaryResultLog.open(directory.resolve("a.log"), 0));
+    }
+
+    @Test
+    void loadFromLog() throws IOException {
+        try (BinaryResultLog log = BinaryResultLog.open(directory.resolve("results.log"), 1)) {
+            log.append(result(1));
+            log.append(result(2));
+            GameResultRepository repository = new GameResultRepository();
+            repository.loadFromLog(log);
+            assertEquals(List.of(result(1), result(2)), repository.findAll());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package repository;
+
+import results.GameResult;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the {@link GameResult} objects used by the tests of the repositories.
+ */
+final class GameResultFixtures {
+
+    private GameResultFixtures() {
+    }
+
+    /**
+     * Returns a result which differs from the results with other numbers in every field.
+     * Every third result has no winner, and half of them have a non-ASCII name.
+     */
+    static GameResult result(int i) {
+        return GameResult.builder()
+                .playerOne("Player " + i)
+                .playerTwo(i % 2 == 0 ? "Computer" : "Árvíztűrő")
+                .winner(i % 3 == 0 ? null : "Player " + i)
+                .numberOfMoves(20 + i)
+                .timeOfPlay(ZonedDateTime.of(2022, 5, 1, 12, 30, 0, 123_456_789, ZoneId.of("Europe/Budapest")).plusSeconds(i))
+                .build();
+    }
+
+    static GameResult result(String playerOne, String playerTwo, String winner, int numberOfMoves) {
+        return GameResult.builder()
+                .playerOne(playerOne)
+                .playerTwo(playerTwo)
+                .winner(winner)
+                .numberOfMoves(numberOfMoves)
+                .build();
+    }
+
+    /**
+     * Returns random results of the ten players named from {@code Player 0} to {@code Player 9}.
+     */
+    static List<GameResult> randomResults(Random random, int count) {
+        List<GameResult> results = new ArrayList<>();
+        ZonedDateTime start = ZonedDateTime.of(2022, 1, 1, 0, 0, 0, 0, ZoneId.of("Europe/Budapest"));
+        for (int i = 0; i < count; i++) {
+            results.add(GameResult.builder()
+                    .playerOne("Player " + random.nextInt(10))
+                    .playerTwo("Player " + random.nextInt(10))
+                    .winner("Player " + random.nextInt(10))
+                    .numberOfMoves(10 + random.nextInt(30))
+                    .timeOfPlay(start.plusHours(random.nextInt(1000)))
+                    .build());
+        }
+        return results;
+    }
+
+    static List<GameResult> readAll(BinaryResultLog log) throws IOException {
+        List<GameResult> results = new ArrayList<>();
+        log.readAll(results::add);
+        return results;
+    }
+}
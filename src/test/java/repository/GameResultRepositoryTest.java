@@ -0,0 +1,175 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import results.GameResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static repository.GameResultFixtures.*;
+
+class GameResultRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    File saveResults(List<GameResult> results) throws IOException {
+        GameResultRepository repository = new GameResultRepository();
+        results.forEach(repository::add);
+        File file = directory.resolve("results.json").toFile();
+        repository.saveToFile(file);
+        return file;
+    }
+
+    @Test
+    void loadFromFile() throws IOException {
+        List<GameResult> results = randomResults(new Random(1), 50);
+        File file = saveResults(results);
+        GameResultRepository repository = new GameResultRepository();
+        repository.loadFromFile(file);
+        assertEquals(results, repository.findAll());
+        repository.loadFromFile(file);
+        assertEquals(50, repository.size());
+    }
+
+    @Test
+    void forEachInFile() throws IOException {
+        List<GameResult> results = randomResults(new Random(2), 20);
+        File file = saveResults(results);
+        List<GameResult> read = new ArrayList<>();
+        new GameResultRepository().forEachInFile(file, read::add);
+        assertEquals(results, read);
+    }
+
+    @Test
+    void forEachInFile_invalidFile() throws IOException {
+        Path file = directory.resolve("invalid.json");
+        Files.writeString(file, "{\"playerOne\": \"a\"}");
+        assertThrows(IOException.class, () -> new GameResultRepository().forEachInFile(file.toFile(), result -> { }));
+        assertThrows(IOException.class,
+                () -> new GameResultRepository().loadFromFile(directory.resolve("missing.json").toFile()));
+    }
+
+    @Test
+    void findBestResults_afterChanges() throws IOException {
+        Random random = new Random(4);
+        List<GameResult> results = randomResults(random, 200);
+        GameResultRepository repository = new GameResultRepository();
+        List<GameResult> reference = new ArrayList<>();
+        for (GameResult result : results) {
+            repository.add(result);
+            reference.add(result);
+            if (random.nextInt(4) == 0) {
+                GameResult removed = reference.remove(random.nextInt(reference.size()));
+                repository.remove(removed);
+            }
+            assertEquals(reference.stream().sorted(GameResultRepository.BEST_RESULTS_FIRST).limit(5).toList(),
+                    repository.findBestResults(5));
+        }
+        GameResult duplicate = reference.get(0);
+        repository.add(duplicate);
+        repository.add(duplicate);
+        repository.remove(duplicate);
+        reference.add(duplicate);
+        assertEquals(reference.stream().sorted(GameResultRepository.BEST_RESULTS_FIRST).toList(),
+                repository.findBestResults(reference.size()));
+        repository.loadFromFile(saveResults(results.subList(0, 10)));
+        assertEquals(results.subList(0, 10).stream().sorted(GameResultRepository.BEST_RESULTS_FIRST).toList(),
+                repository.findBestResults(20));
+        repository.clear();
+        assertEquals(List.of(), repository.findBestResults(5));
+    }
+
+    @Test
+    void findBestResults() throws IOException {
+        List<GameResult> results = randomResults(new Random(3), 500);
+        List<GameResult> expected = results.stream()
+                .sorted(GameResultRepository.BEST_RESULTS_FIRST)
+                .limit(15)
+                .toList();
+        GameResultRepository repository = new GameResultRepository();
+        results.forEach(repository::add);
+        assertEquals(expected, repository.findBestResults(15));
+        assertEquals(expected, new GameResultRepository().findBestResults(saveResults(results), 15));
+        assertEquals(List.of(), repository.findBestResults(0));
+        assertEquals(500, repository.findBestResults(1000).size());
+    }
+
+    static void assertIndexes(GameResultRepository repository) {
+        ZonedDateTime from = ZonedDateTime.of(2022, 1, 10, 0, 0, 0, 0, ZoneId.of("UTC"));
+        ZonedDateTime to = from.plusDays(10);
+        for (int i = 0; i < 10; i++) {
+            String player = "Player " + i;
+            assertEquals(find(repository, result -> player.equals(result.getPlayerOne())
+                    || player.equals(result.getPlayerTwo())), repository.findByPlayer(player));
+            assertEquals(find(repository, result -> player.equals(result.getPlayerOne())),
+                    repository.findByPlayerOne(player));
+            assertEquals(find(repository, result -> player.equals(result.getPlayerTwo())),
+                    repository.findByPlayerTwo(player));
+            assertEquals(find(repository, result -> player.equals(result.getWinner())),
+                    repository.findWinsBy(player));
+        }
+        assertEquals(find(repository, result -> !result.getTimeOfPlay().isBefore(from)
+                        && result.getTimeOfPlay().isBefore(to)).stream()
+                        .sorted(Comparator.comparing(GameResult::getTimeOfPlay))
+                        .toList(),
+                repository.findPlayedBetween(from, to));
+    }
+
+    static List<GameResult> find(GameResultRepository repository, Predicate<GameResult> predicate) {
+        return repository.findAll().stream().filter(predicate).toList();
+    }
+
+    @Test
+    void indexes_afterChanges() throws IOException {
+        Random random = new Random(5);
+        List<GameResult> results = randomResults(random, 300);
+        GameResultRepository repository = new GameResultRepository();
+        List<GameResult> added = new ArrayList<>();
+        for (GameResult result : results) {
+            repository.add(result);
+            added.add(result);
+            if (random.nextInt(3) == 0) {
+                repository.remove(added.remove(random.nextInt(added.size())));
+            }
+        }
+        assertIndexes(repository);
+        repository.loadFromFile(saveResults(results.subList(0, 40)));
+        assertIndexes(repository);
+        repository.clear();
+        assertEquals(List.of(), repository.findByPlayer("Player 1"));
+        assertEquals(List.of(), repository.findWinsBy("Player 1"));
+    }
+
+    @Test
+    void findByPlayer() {
+        ZonedDateTime time = ZonedDateTime.of(2022, 5, 1, 12, 0, 0, 0, ZoneId.of("Europe/Budapest"));
+        GameResult alone = GameResult.builder().playerOne("A").playerTwo("A").winner("A")
+                .numberOfMoves(10).timeOfPlay(time).build();
+        GameResult unnamed = GameResult.builder().playerOne("A").numberOfMoves(12).build();
+        GameResultRepository repository = new GameResultRepository();
+        repository.add(alone);
+        repository.add(unnamed);
+        assertEquals(List.of(alone, unnamed), repository.findByPlayer("A"));
+        assertEquals(List.of(alone), repository.findByPlayerTwo("A"));
+        assertEquals(List.of(alone), repository.findWinsBy("A"));
+        assertEquals(List.of(), repository.findByPlayer("B"));
+        assertEquals(List.of(alone), repository.findPlayedBetween(time.withZoneSameInstant(ZoneId.of("UTC")),
+                time.plusNanos(1)));
+        assertEquals(List.of(), repository.findPlayedBetween(time.plusNanos(1), time));
+        repository.remove(alone);
+        assertEquals(List.of(unnamed), repository.findByPlayer("A"));
+        assertEquals(List.of(), repository.findPlayedBetween(time, time.plusDays(1)));
+    }
+}
@@ -0,0 +1,150 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import results.GameResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static repository.GameResultFixtures.*;
+
+class ResultArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    static List<GameResult> readAll(ResultArchive archive) throws IOException {
+        List<GameResult> results = new ArrayList<>();
+        archive.readAll(results::add);
+        return results;
+    }
+
+    @Test
+    void writeAndReadAll() throws IOException {
+        List<GameResult> results = new ArrayList<>(randomResults(new Random(8), 200));
+        for (int i = 0; i < 70; i++) {
+            results.add(result(i));
+        }
+        results.add(GameResult.builder().numberOfMoves(-5).build());
+        results.add(GameResult.builder().playerOne("").playerTwo("x").numberOfMoves(Integer.MAX_VALUE)
+                .timeOfPlay(ZonedDateTime.of(1950, 3, 1, 0, 0, 0, 999_999_999, ZoneId.of("America/New_York")))
+                .build());
+        results.add(GameResult.builder().numberOfMoves(Integer.MIN_VALUE)
+                .timeOfPlay(ZonedDateTime.of(2022, 3, 1, 0, 0, 0, 0, ZoneId.of("UTC"))).build());
+        Path file = directory.resolve("results.fca");
+        ResultArchive.write(file, results);
+        try (ResultArchive archive = ResultArchive.open(file)) {
+            assertEquals(results.size(), archive.size());
+            assertEquals(results, readAll(archive));
+            assertArrayEquals(results.stream().mapToInt(GameResult::getNumberOfMoves).toArray(),
+                    archive.readNumberOfMoves());
+            assertArrayEquals(results.stream().map(GameResult::getWinner).toArray(),
+                    archive.readNames(ResultArchive.NameColumn.WINNER));
+            assertArrayEquals(results.stream().map(GameResult::getPlayerTwo).toArray(),
+                    archive.readNames(ResultArchive.NameColumn.PLAYER_TWO));
+            assertArrayEquals(results.stream()
+                            .mapToLong(result -> result.getTimeOfPlay() == null
+                                    ? ResultArchive.NO_TIME
+                                    : result.getTimeOfPlay().toInstant().toEpochMilli())
+                            .toArray(),
+                    archive.readEpochMillis());
+            GameResultRepository repository = new GameResultRepository();
+            repository.loadFromArchive(archive);
+            assertEquals(results, repository.findAll());
+        }
+    }
+
+    @Test
+    void write_smallerThanJson() throws IOException {
+        List<GameResult> results = randomResults(new Random(9), 1000);
+        GameResultRepository repository = new GameResultRepository();
+        results.forEach(repository::add);
+        Path jsonFile = directory.resolve("results.json");
+        repository.saveToFile(jsonFile.toFile());
+        Path file = directory.resolve("results.fca");
+        ResultArchive.write(file, results);
+        assertTrue(Files.size(file) * 10 < Files.size(jsonFile));
+    }
+
+    @Test
+    void write_empty() throws IOException {
+        Path file = directory.resolve("results.fca");
+        ResultArchive.write(file, List.of());
+        try (ResultArchive archive = ResultArchive.open(file)) {
+            assertEquals(0, archive.size());
+            assertEquals(List.of(), readAll(archive));
+            assertEquals(0, archive.readNumberOfMoves().length);
+        }
+    }
+
+    @Test
+    void open_invalidFile() throws IOException {
+        Path file = directory.resolve("results.log");
+        try (BinaryResultLog log = BinaryResultLog.open(file, 1)) {
+            log.append(result(1));
+        }
+        assertThrows(IOException.class, () -> ResultArchive.open(file));
+        Path archiveFile = directory.resolve("results.fca");
+        ResultArchive.write(archiveFile, List.of(result(1)));
+        byte[] bytes = Files.readAllBytes(archiveFile);
+        Files.write(archiveFile, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> ResultArchive.open(archiveFile));
+    }
+
+    @Test
+    void readNumberOfMoves_corruptedColumn() throws IOException {
+        Path file = directory.resolve("results.fca");
+        ResultArchive.write(file, randomResults(new Random(10), 50));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(file, bytes);
+        try (ResultArchive archive = ResultArchive.open(file)) {
+            assertEquals(50, archive.readNumberOfMoves().length);
+            assertThrows(IOException.class, archive::readEpochMillis);
+            assertThrows(IOException.class, () -> readAll(archive));
+        }
+    }
+
+    @Test
+    void read_columnsShorterThanSize() throws IOException {
+        Path file = directory.resolve("results.fca");
+        ResultArchive.write(file, randomResults(new Random(11), 50));
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        bytes.putInt(2 * Integer.BYTES, 51); // the number of results
+        Files.write(file, bytes.array());
+        try (ResultArchive archive = ResultArchive.open(file)) {
+            assertThrows(IOException.class, archive::readNumberOfMoves);
+            assertThrows(IOException.class, () -> archive.readNames(ResultArchive.NameColumn.WINNER));
+            assertThrows(IOException.class, archive::readEpochMillis);
+            assertThrows(IOException.class, () -> readAll(archive));
+        }
+    }
+
+    @Test
+    void open_invalidDirectory() throws IOException {
+        Path file = directory.resolve("results.fca");
+        ResultArchive.write(file, randomResults(new Random(12), 5));
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        bytes.putLong(4 * Integer.BYTES, -1); // the offset of the first column
+        Files.write(file, bytes.array());
+        assertThrows(IOException.class, () -> ResultArchive.open(file));
+        bytes.putLong(4 * Integer.BYTES, Long.MAX_VALUE);
+        Files.write(file, bytes.array());
+        assertThrows(IOException.class, () -> ResultArchive.open(file));
+    }
+
+    @Test
+    void main_withoutArguments() {
+        assertDoesNotThrow(() -> ResultArchive.main(new String[0]));
+    }
+}
@@ -0,0 +1,117 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import results.GameResult;
+import results.HeadToHead;
+import results.PlayerStatistics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static repository.GameResultFixtures.*;
+
+class ResultStatisticsTest {
+
+    @TempDir
+    Path directory;
+
+    static PlayerStatistics expectedStatistics(List<GameResult> results, String player) {
+        int gamesAsDogs = 0;
+        int winsAsDogs = 0;
+        int gamesAsFox = 0;
+        int winsAsFox = 0;
+        long totalMoves = 0;
+        int bestWinMoves = 0;
+        int streak = 0;
+        int longestStreak = 0;
+        for (GameResult result : results) {
+            boolean dogs = player.equals(result.getPlayerOne());
+            if (!dogs && !player.equals(result.getPlayerTwo())) {
+                continue;
+            }
+            boolean won = player.equals(result.getWinner());
+            gamesAsDogs += dogs ? 1 : 0;
+            gamesAsFox += dogs ? 0 : 1;
+            winsAsDogs += dogs && won ? 1 : 0;
+            winsAsFox += !dogs && won ? 1 : 0;
+            totalMoves += result.getNumberOfMoves();
+            if (won && (bestWinMoves == 0 || result.getNumberOfMoves() < bestWinMoves)) {
+                bestWinMoves = result.getNumberOfMoves();
+            }
+            streak = won ? streak + 1 : 0;
+            longestStreak = Math.max(longestStreak, streak);
+        }
+        return new PlayerStatistics(player, gamesAsDogs, winsAsDogs, gamesAsFox, winsAsFox,
+                totalMoves, bestWinMoves, streak, longestStreak);
+    }
+
+    static void assertStatistics(List<GameResult> results, ResultStatistics statistics) {
+        for (int i = 0; i < 10; i++) {
+            String player = "Player " + i;
+            assertEquals(expectedStatistics(results, player), statistics.getPlayerStatistics(player).orElseThrow());
+            for (int j = 0; j < 10; j++) {
+                String opponent = "Player " + j;
+                List<GameResult> games = results.stream()
+                        .filter(result -> !player.equals(opponent)
+                                && (player.equals(result.getPlayerOne()) && opponent.equals(result.getPlayerTwo())
+                                || opponent.equals(result.getPlayerOne()) && player.equals(result.getPlayerTwo())))
+                        .toList();
+                assertEquals(new HeadToHead(player, opponent, games.size(),
+                                (int) games.stream().filter(result -> player.equals(result.getWinner())).count(),
+                                (int) games.stream().filter(result -> opponent.equals(result.getWinner())).count()),
+                        statistics.getHeadToHead(player, opponent));
+            }
+        }
+    }
+
+    @Test
+    void accept() {
+        List<GameResult> results = randomResults(new Random(6), 500);
+        ResultStatistics statistics = new ResultStatistics();
+        results.forEach(statistics);
+        assertStatistics(results, statistics);
+        assertEquals(10, statistics.getAllPlayerStatistics().size());
+        assertEquals(Optional.empty(), statistics.getPlayerStatistics("Player 10"));
+        statistics.clear();
+        assertEquals(List.of(), statistics.getAllPlayerStatistics());
+    }
+
+    @Test
+    void accept_fromLog() throws IOException {
+        List<GameResult> results = randomResults(new Random(7), 100);
+        ResultStatistics statistics = new ResultStatistics();
+        try (BinaryResultLog log = BinaryResultLog.open(directory.resolve("results.log"), 100)) {
+            log.appendAll(results);
+            log.readAll(statistics);
+        }
+        assertStatistics(results, statistics);
+    }
+
+    @Test
+    void accept_streaksAndRoles() {
+        ResultStatistics statistics = new ResultStatistics();
+        List.of(result("A", "B", "A", 20),
+                result("B", "A", "A", 12),
+                result("A", "A", "A", 30),
+                result("A", "B", "B", 8),
+                result("A", null, "A", 10),
+                result("C", "A", null, 14)).forEach(statistics);
+        PlayerStatistics a = statistics.getPlayerStatistics("A").orElseThrow();
+        assertEquals(new PlayerStatistics("A", 4, 3, 2, 1, 94, 10, 0, 3), a);
+        assertEquals(6, a.games());
+        assertEquals(4, a.wins());
+        assertEquals(0.75, a.winRateAsDogs());
+        assertEquals(0.5, a.winRateAsFox());
+        assertEquals(94.0 / 6, a.averageMoves());
+        assertEquals(new HeadToHead("A", "B", 3, 2, 1), statistics.getHeadToHead("A", "B"));
+        assertEquals(new HeadToHead("B", "A", 3, 1, 2), statistics.getHeadToHead("B", "A"));
+        assertEquals(new HeadToHead("A", "C", 1, 0, 0), statistics.getHeadToHead("A", "C"));
+        assertEquals(new HeadToHead("B", "C", 0, 0, 0), statistics.getHeadToHead("B", "C"));
+        assertEquals(0, statistics.getPlayerStatistics("C").orElseThrow().bestWinMoves());
+    }
+}
@@ -0,0 +1,94 @@
+package repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import results.GameResult;
+import results.HeadToHead;
+import results.PlayerStatistics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static repository.GameResultFixtures.*;
+
+class ResultStoreTest {
+
+    @TempDir
+    Path directory;
+
+    void saveResults(File file, List<GameResult> results) throws IOException {
+        GameResultRepository repository = new GameResultRepository();
+        results.forEach(repository::add);
+        repository.saveToFile(file);
+    }
+
+    @Test
+    void refreshIfChanged() throws IOException {
+        File jsonFile = directory.resolve("results.json").toFile();
+        saveResults(jsonFile, List.of(result(1), result(2)));
+        ResultStore store = new ResultStore(jsonFile, null);
+        assertTrue(store.refreshIfChanged());
+        assertFalse(store.refreshIfChanged());
+        assertEquals(2, store.findAll().size());
+        saveResults(jsonFile, List.of(result(3)));
+        assertTrue(jsonFile.setLastModified(jsonFile.lastModified() + 2000));
+        assertEquals(List.of(result(3)), store.findAll());
+        assertFalse(store.refreshIfChanged());
+    }
+
+    @Test
+    void add() throws IOException {
+        File jsonFile = directory.resolve("results.json").toFile();
+        saveResults(jsonFile, List.of(result(30)));
+        try (BinaryResultLog log = BinaryResultLog.open(directory.resolve("results.log"), 1)) {
+            log.append(result(20));
+            AsyncResultWriter writer = new AsyncResultWriter(log, 16);
+            ResultStore store = new ResultStore(jsonFile, writer);
+            assertTrue(store.add(result(10)));
+            assertEquals(List.of(result(10), result(20)),
+                    store.findBestResults(2));
+            assertEquals(3, store.findAll().size());
+            writer.close();
+            assertEquals(2, log.size());
+            ResultStore reloaded = new ResultStore(jsonFile, writer);
+            assertEquals(store.findBestResults(3), reloaded.findBestResults(3));
+        }
+    }
+
+    @Test
+    void add_withoutWriter() {
+        ResultStore store = new ResultStore(directory.resolve("missing.json").toFile(), null);
+        assertFalse(store.add(result(1)));
+        assertEquals(List.of(result(1)), store.findBestResults(5));
+    }
+
+    @Test
+    void getPlayerStatistics() throws IOException {
+        File jsonFile = directory.resolve("results.json").toFile();
+        saveResults(jsonFile, List.of(result("A", "B", "A", 20)));
+        ResultStore store = new ResultStore(jsonFile, null);
+        store.add(result("B", "A", "A", 12));
+        assertEquals(new PlayerStatistics("A", 1, 1, 1, 1, 32, 12, 2, 2),
+                store.getPlayerStatistics("A").orElseThrow());
+        assertEquals(new HeadToHead("B", "A", 2, 0, 2), store.getHeadToHead("B", "A"));
+        saveResults(jsonFile, List.of(result("B", "A", "B", 20),
+                result("C", "A", "C", 20)));
+        assertTrue(jsonFile.setLastModified(jsonFile.lastModified() + 2000));
+        assertEquals(new PlayerStatistics("A", 0, 0, 2, 0, 40, 0, 0, 0),
+                store.getPlayerStatistics("A").orElseThrow());
+        assertEquals(3, store.getAllPlayerStatistics().size());
+    }
+
+    @Test
+    void findAll_notChangedByAdd() {
+        ResultStore store = new ResultStore(directory.resolve("results.json").toFile(), null);
+        store.add(result(1));
+        List<GameResult> results = store.findAll();
+        store.add(result(2));
+        assertEquals(List.of(result(1)), results);
+        assertEquals(2, store.findAll().size());
+    }
+}
@@ -0,0 +1,256 @@
+package state;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitboardStateTest {
+
+    BitboardState state1 = new BitboardState(); // original initial state
+
+    BitboardState state2 = new BitboardState(new BoardState( // a non-final state
+            PieceType.DOG,
+            new Piece(PieceType.FOX, Position.of(1, 1)),
+            new Piece(PieceType.DOG, Position.of(5, 1)),
+            new Piece(PieceType.DOG, Position.of(4, 2)),
+            new Piece(PieceType.DOG, Position.of(6, 6)),
+            new Piece(PieceType.DOG, Position.of(4, 6))
+    ));
+
+    BitboardState state3 = new BitboardState(new BoardState( // a final state where the fox wins
+            PieceType.DOG,
+            new Piece(PieceType.FOX, Position.of(6, 4)),
+            new Piece(PieceType.DOG, Position.of(5, 1)),
+            new Piece(PieceType.DOG, Position.of(4, 2)),
+            new Piece(PieceType.DOG, Position.of(5, 3)),
+            new Piece(PieceType.DOG, Position.of(4, 4))
+    ));
+
+    BitboardState state4 = new BitboardState(new BoardState( // a final state where the dogs win
+            PieceType.FOX,
+            new Piece(PieceType.FOX, Position.of(0, 4)),
+            new Piece(PieceType.DOG, Position.of(2, 4)),
+            new Piece(PieceType.DOG, Position.of(1, 3)),
+            new Piece(PieceType.DOG, Position.of(3, 3)),
+            new Piece(PieceType.DOG, Position.of(1, 5))
+    ));
+
+    @Test
+    void getPieceIndexByPosition() {
+        assertEquals(0, state2.getPieceIndexByPosition(Position.of(1, 1)).get());
+        assertEquals(1, state2.getPieceIndexByPosition(Position.of(4, 2)).get());
+        assertEquals(4, state2.getPieceIndexByPosition(Position.of(6, 6)).get());
+        assertEquals(Optional.empty(), state2.getPieceIndexByPosition(Position.of(5, 5)));
+        assertEquals(Optional.empty(), state2.getPieceIndexByPosition(Position.of(3, -1)));
+    }
+
+    @Test
+    void canMove() {
+        assertFalse(state1.canMove(0, Direction.DOWN_RIGHT));
+        assertFalse(state1.canMove(0, Direction.UP_LEFT));
+        assertTrue(state1.canMove(1, Direction.UP_RIGHT));
+        assertFalse(state1.canMove(4, Direction.UP_RIGHT));
+        assertFalse(state1.canMove(4, Direction.DOWN_LEFT));
+        assertFalse(state3.canMove(state3.getPieceIndexByPosition(Position.of(5, 1)).get(), Direction.UP_RIGHT));
+        assertFalse(state4.canMove(0, Direction.DOWN_LEFT));
+    }
+
+    @Test
+    void canMove_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> state1.canMove(5, Direction.UP_LEFT));
+    }
+
+    @Test
+    void move() {
+        BitboardState state1Copy = state1.clone();
+        state1Copy.move(1, Direction.UP_LEFT);
+        assertEquals(new BitboardState(new BoardState(PieceType.FOX,
+                new Piece(PieceType.FOX, Position.of(0, 2)),
+                new Piece(PieceType.DOG, Position.of(6, 0)),
+                new Piece(PieceType.DOG, Position.of(7, 3)),
+                new Piece(PieceType.DOG, Position.of(7, 5)),
+                new Piece(PieceType.DOG, Position.of(7, 7)))),
+                state1Copy);
+        state1Copy.move(1, Direction.UP_LEFT);
+        assertEquals(PieceType.FOX, state1Copy.getPieceTypeToMove());
+    }
+
+    @Test
+    void move_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> state3.move(-1, Direction.DOWN_LEFT));
+    }
+
+    @Test
+    void isGoal() {
+        assertFalse(state1.isGoal());
+        assertFalse(state2.isGoal());
+        assertTrue(state3.isGoal());
+        assertTrue(state4.isGoal());
+    }
+
+    @Test
+    void foxWins() {
+        assertFalse(state1.foxWins());
+        assertFalse(state2.foxWins());
+        assertTrue(state3.foxWins());
+        assertFalse(state4.foxWins());
+    }
+
+    @Test
+    void dogWins() {
+        assertFalse(state1.dogWins());
+        assertFalse(state2.dogWins());
+        assertFalse(state3.dogWins());
+        assertTrue(state4.dogWins());
+    }
+
+    @Test
+    void getPossibleMoves() {
+        ArrayList<Direction> possibleDirectionsOfFoxInStateOne = new ArrayList<Direction>();
+        possibleDirectionsOfFoxInStateOne.add(Direction.DOWN_LEFT);
+        possibleDirectionsOfFoxInStateOne.add(Direction.DOWN_RIGHT);
+        assertEquals(possibleDirectionsOfFoxInStateOne, state1.getPossibleMoves(0));
+        ArrayList<Direction> possibleDirectionsOfDogInStateTwo = new ArrayList<Direction>();
+        possibleDirectionsOfDogInStateTwo.add(Direction.UP_LEFT);
+        assertEquals(possibleDirectionsOfDogInStateTwo,
+                state2.getPossibleMoves(state2.getPieceIndexByPosition(Position.of(5, 1)).get()));
+    }
+
+    @Test
+    void generateMoves() {
+        int[] moves = new int[BitboardState.MAX_MOVES];
+        assertEquals(7, state1.generateMoves(moves));
+        BitboardState copy = state1.clone();
+        for (int i = 0; i < 7; i++) {
+            copy.makeMove(moves[i]);
+            assertEquals(PieceType.FOX, copy.getPieceTypeToMove());
+            assertEquals(Zobrist.hash(copy), copy.getZobristKey());
+            copy.unmakeMove(moves[i]);
+            assertEquals(state1, copy);
+            assertEquals(state1.getZobristKey(), copy.getZobristKey());
+        }
+        assertEquals(0, state4.generateMoves(moves));
+    }
+
+    @Test
+    void mirror() {
+        BitboardState mirrored = state1.mirror();
+        assertEquals(Move.square(0, 5), mirrored.getFoxSquare());
+        assertEquals(BitboardState.mirror(state1.getDogs()), mirrored.getDogs());
+        assertEquals(state1, mirrored.mirror());
+        assertEquals(state1.getMirroredZobristKey(), mirrored.getZobristKey());
+        assertEquals(state1.getZobristKey(), mirrored.getMirroredZobristKey());
+        assertEquals(state1.getCanonicalKey(), mirrored.getCanonicalKey());
+        assertNotEquals(state1.isCanonicalKeyMirrored(), mirrored.isCanonicalKeyMirrored());
+        int[] moves = new int[BitboardState.MAX_MOVES];
+        int count = state1.generateMoves(moves);
+        for (int i = 0; i < count; i++) {
+            BitboardState copy = state1.clone();
+            copy.makeMove(moves[i]);
+            assertEquals(Zobrist.mirroredHash(copy), copy.getMirroredZobristKey());
+            BitboardState mirroredCopy = mirrored.clone();
+            mirroredCopy.makeMove(Move.mirror(moves[i]));
+            assertEquals(copy.mirror(), mirroredCopy);
+            copy.unmakeMove(moves[i]);
+            assertEquals(state1.getMirroredZobristKey(), copy.getMirroredZobristKey());
+        }
+    }
+
+    @Test
+    void isSquareEmpty() {
+        assertTrue(state1.isSquareEmpty(Position.of(5, 5)));
+        assertTrue(state3.isSquareEmpty(Position.of(6, 3)));
+        assertFalse(state4.isSquareEmpty(Position.of(1, 3)));
+        assertFalse(state2.isSquareEmpty(Position.of(6, 6)));
+    }
+
+    @Test
+    void testConstructor_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new BitboardState(0x0FL, 0, PieceType.DOG));
+        assertThrows(IllegalArgumentException.class, () -> new BitboardState(0x1EL, 64, PieceType.DOG));
+        assertThrows(IllegalArgumentException.class, () -> new BitboardState(0x07L, 5, PieceType.FOX));
+        assertThrows(IllegalArgumentException.class, () -> new BitboardState(new BoardState(
+                PieceType.DOG,
+                new Piece(PieceType.FOX, Position.of(6, 3)),
+                new Piece(PieceType.FOX, Position.of(4, 7)),
+                new Piece(PieceType.DOG, Position.of(2, 5)),
+                new Piece(PieceType.DOG, Position.of(5, 6)),
+                new Piece(PieceType.DOG, Position.of(4, 4)))));
+    }
+
+    @Test
+    void toBoardState() {
+        assertEquals(new BoardState(), state1.toBoardState());
+        assertEquals(state3, new BitboardState(state3.toBoardState()));
+    }
+
+    @Test
+    void testEquals() {
+        assertTrue(state3.equals(state3.clone()));
+        assertFalse(state3.equals(state4));
+        assertFalse(state3.equals(new BitboardState()));
+        assertFalse(state2.equals(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("{DOG, [FOX: (1,1)], [DOG: (4,2)], [DOG: (4,6)], [DOG: (5,1)], [DOG: (6,6)]}",
+                state2.toString());
+    }
+
+    @Test
+    void sameRulesAsBoardState() {
+        Random random = new Random(42);
+        for (int game = 0; game < 200; game++) {
+            BoardState reference = new BoardState();
+            BitboardState bitboard = new BitboardState();
+            while (!reference.isGoal()) {
+                assertEquals(reference.foxWins(), bitboard.foxWins());
+                assertEquals(reference.dogWins(), bitboard.dogWins());
+                assertEquals(successors(reference), successors(bitboard));
+                ArrayList<Integer> indices = new ArrayList<>();
+                ArrayList<Direction> directions = new ArrayList<>();
+                for (int i = 0; i < reference.getNumberOfPieces(); i++) {
+                    for (var direction : Direction.values()) {
+                        if (reference.canMove(i, direction)) {
+                            indices.add(i);
+                            directions.add(direction);
+                        }
+                    }
+                }
+                if (indices.isEmpty()) {
+                    break;
+                }
+                int choice = random.nextInt(indices.size());
+                Position position = reference.getPiece(indices.get(choice)).getPosition();
+                bitboard.move(bitboard.getPieceIndexByPosition(position).get(), directions.get(choice));
+                reference.move(indices.get(choice), directions.get(choice));
+                assertEquals(new BitboardState(reference), bitboard);
+                assertEquals(reference.getZobristKey(), bitboard.getZobristKey());
+            }
+            assertEquals(reference.isGoal(), bitboard.isGoal());
+        }
+    }
+
+    private static Set<BitboardState> successors(GameState state) {
+        Set<BitboardState> successors = new HashSet<>();
+        for (int i = 0; i < state.getNumberOfPieces(); i++) {
+            for (var direction : Direction.values()) {
+                if (state.canMove(i, direction)) {
+                    GameState copy = state.clone();
+                    copy.move(i, direction);
+                    successors.add(new BitboardState(copy));
+                }
+            }
+        }
+        return successors;
+    }
+}
@@ -3,6 +3,8 @@ package state;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -14,39 +16,39 @@ class BoardStateTest {
 
     BoardState state2 = new BoardState( // a non-final state
             PieceType.DOG,
-            new Piece(PieceType.FOX, new Position(1, 1)),
-            new Piece(PieceType.DOG, new Position(5, 1)),
-            new Piece(PieceType.DOG, new Position(4, 2)),
-            new Piece(PieceType.DOG, new Position(6, 6)),
-            new Piece(PieceType.DOG, new Position(4, 6))
+            new Piece(PieceType.FOX, Position.of(1, 1)),
+            new Piece(PieceType.DOG, Position.of(5, 1)),
+            new Piece(PieceType.DOG, Position.of(4, 2)),
+            new Piece(PieceType.DOG, Position.of(6, 6)),
+            new Piece(PieceType.DOG, Position.of(4, 6))
     );
 
     BoardState state3 = new BoardState( // a final state where the fox wins
             PieceType.DOG,
-            new Piece(PieceType.FOX, new Position(6, 4)),
-            new Piece(PieceType.DOG, new Position(5, 1)),
-            new Piece(PieceType.DOG, new Position(4, 2)),
-            new Piece(PieceType.DOG, new Position(5, 3)),
-            new Piece(PieceType.DOG, new Position(4, 4))
+            new Piece(PieceType.FOX, Position.of(6, 4)),
+            new Piece(PieceType.DOG, Position.of(5, 1)),
+            new Piece(PieceType.DOG, Position.of(4, 2)),
+            new Piece(PieceType.DOG, Position.of(5, 3)),
+            new Piece(PieceType.DOG, Position.of(4, 4))
     );
 
     BoardState state4 = new BoardState( // a final state where the dogs win
             PieceType.FOX,
-            new Piece(PieceType.FOX, new Position(0, 4)),
-            new Piece(PieceType.DOG, new Position(2, 4)),
-            new Piece(PieceType.DOG, new Position(1, 3)),
-            new Piece(PieceType.DOG, new Position(3, 3)),
-            new Piece(PieceType.DOG, new Position(1, 5))
+            new Piece(PieceType.FOX, Position.of(0, 4)),
+            new Piece(PieceType.DOG, Position.of(2, 4)),
+            new Piece(PieceType.DOG, Position.of(1, 3)),
+            new Piece(PieceType.DOG, Position.of(3, 3)),
+            new Piece(PieceType.DOG, Position.of(1, 5))
     );
 
     @Test
     void getPieceIndexByPosition() {
-        assertTrue(0 == state2.getPieceIndexByPosition(new Position(1, 1)).get());
-        assertTrue(2 == state3.getPieceIndexByPosition(new Position(4, 2)).get());
-        assertTrue(3 == state4.getPieceIndexByPosition(new Position(3, 3)).get());
-        assertFalse(0 == state4.getPieceIndexByPosition(new Position(1, 5)).get());
-        assertEquals(Optional.empty(), state2.getPieceIndexByPosition(new Position(5, 5)));
-        assertEquals(Optional.empty(), state2.getPieceIndexByPosition(new Position(3, -1)));
+        assertTrue(0 == state2.getPieceIndexByPosition(Position.of(1, 1)).get());
+        assertTrue(2 == state3.getPieceIndexByPosition(Position.of(4, 2)).get());
+        assertTrue(3 == state4.getPieceIndexByPosition(Position.of(3, 3)).get());
+        assertFalse(0 == state4.getPieceIndexByPosition(Position.of(1, 5)).get());
+        assertEquals(Optional.empty(), state2.getPieceIndexByPosition(Position.of(5, 5)));
+        assertEquals(Optional.empty(), state2.getPieceIndexByPosition(Position.of(3, -1)));
     }
 
     @Test
@@ -70,34 +72,34 @@ class BoardStateTest {
         BoardState state1Copy = state1.clone();
         state1Copy.move(1, Direction.UP_LEFT);
         assertEquals(new BoardState(PieceType.FOX,
-                new Piece(PieceType.FOX, new Position(0, 2)),
-                new Piece(PieceType.DOG, new Position(6, 0)),
-                new Piece(PieceType.DOG, new Position(7, 3)),
-                new Piece(PieceType.DOG, new Position(7, 5)),
-                new Piece(PieceType.DOG, new Position(7, 7))),
+                new Piece(PieceType.FOX, Position.of(0, 2)),
+                new Piece(PieceType.DOG, Position.of(6, 0)),
+                new Piece(PieceType.DOG, Position.of(7, 3)),
+                new Piece(PieceType.DOG, Position.of(7, 5)),
+                new Piece(PieceType.DOG, Position.of(7, 7))),
                 state1Copy);
         BoardState state2Copy = state2.clone();
         state2Copy.move(3, Direction.UP_RIGHT);
         assertEquals(new BoardState(PieceType.FOX,
-                new Piece(PieceType.FOX, new Position(1, 1)),
-                new Piece(PieceType.DOG, new Position(5, 1)),
-                new Piece(PieceType.DOG, new Position(4, 2)),
-                new Piece(PieceType.DOG, new Position(5, 7)),
-                new Piece(PieceType.DOG, new Position(4, 6))),
+                new Piece(PieceType.FOX, Position.of(1, 1)),
+                new Piece(PieceType.DOG, Position.of(5, 1)),
+                new Piece(PieceType.DOG, Position.of(4, 2)),
+                new Piece(PieceType.DOG, Position.of(5, 7)),
+                new Piece(PieceType.DOG, Position.of(4, 6))),
                 state2Copy);
         BoardState state = new BoardState(PieceType.FOX,
-                new Piece(PieceType.FOX, new Position(1, 3)),
-                new Piece(PieceType.DOG, new Position(2, 0)),
-                new Piece(PieceType.DOG, new Position(4, 4)),
-                new Piece(PieceType.DOG, new Position(6, 6)),
-                new Piece(PieceType.DOG, new Position(7, 7)));
+                new Piece(PieceType.FOX, Position.of(1, 3)),
+                new Piece(PieceType.DOG, Position.of(2, 0)),
+                new Piece(PieceType.DOG, Position.of(4, 4)),
+                new Piece(PieceType.DOG, Position.of(6, 6)),
+                new Piece(PieceType.DOG, Position.of(7, 7)));
         state.move(0, Direction.DOWN_RIGHT);
         assertEquals(new BoardState(PieceType.DOG,
-                new Piece(PieceType.FOX, new Position(2, 4)),
-                new Piece(PieceType.DOG, new Position(2, 0)),
-                new Piece(PieceType.DOG, new Position(4, 4)),
-                new Piece(PieceType.DOG, new Position(6, 6)),
-                new Piece(PieceType.DOG, new Position(7, 7))),
+                new Piece(PieceType.FOX, Position.of(2, 4)),
+                new Piece(PieceType.DOG, Position.of(2, 0)),
+                new Piece(PieceType.DOG, Position.of(4, 4)),
+                new Piece(PieceType.DOG, Position.of(6, 6)),
+                new Piece(PieceType.DOG, Position.of(7, 7))),
                 state);
     }
 
@@ -107,6 +109,34 @@ class BoardStateTest {
                 () -> state3.move(-1, Direction.DOWN_LEFT));
     }
 
+    @Test
+    void makeMove() {
+        BoardState state = state2.clone();
+        int undo = state.makeMove(3, Direction.UP_RIGHT);
+        BoardState moved = state2.clone();
+        moved.move(3, Direction.UP_RIGHT);
+        assertEquals(moved, state);
+        assertEquals(moved.getZobristKey(), state.getZobristKey());
+        int foxUndo = state.makeMove(0, Direction.DOWN_LEFT);
+        assertEquals(Position.of(2, 0), state.getPiece(0).getPosition());
+        assertEquals(PieceType.DOG, state.getPieceTypeToMove());
+        state.unmakeMove(foxUndo);
+        assertEquals(moved, state);
+        state.unmakeMove(undo);
+        assertEquals(state2, state);
+        assertEquals(state2.getZobristKey(), state.getZobristKey());
+    }
+
+    @Test
+    void makeMove_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> state1.clone().makeMove(5, Direction.UP_LEFT));
+        assertThrows(IllegalArgumentException.class,
+                () -> state1.clone().makeMove(0, Direction.DOWN_LEFT));
+        assertThrows(IllegalArgumentException.class,
+                () -> state1.clone().makeMove(1, Direction.DOWN_LEFT));
+    }
+
     @Test
     void isGoal() {
         assertFalse(state1.isGoal());
@@ -146,46 +176,74 @@ class BoardStateTest {
 
     @Test
     void isSquareEmpty() {
-        assertTrue(state1.isSquareEmpty(new Position(5, 5)));
-        assertTrue(state3.isSquareEmpty(new Position(6, 3)));
-        assertFalse(state4.isSquareEmpty(new Position(1, 3)));
-        assertFalse(state2.isSquareEmpty(new Position(6, 6)));
+        assertTrue(state1.isSquareEmpty(Position.of(5, 5)));
+        assertTrue(state3.isSquareEmpty(Position.of(6, 3)));
+        assertFalse(state4.isSquareEmpty(Position.of(1, 3)));
+        assertFalse(state2.isSquareEmpty(Position.of(6, 6)));
+    }
+
+    @Test
+    void isSquareEmpty_afterMoves() {
+        BoardState state = state2.clone();
+        int undo = state.makeMove(3, Direction.UP_LEFT);
+        assertTrue(state.isSquareEmpty(Position.of(6, 6)));
+        assertFalse(state.isSquareEmpty(Position.of(5, 5)));
+        assertEquals(Optional.of(3), state.getPieceIndexByPosition(Position.of(5, 5)));
+        assertFalse(state2.isSquareEmpty(Position.of(6, 6)));
+        assertTrue(state2.isSquareEmpty(Position.of(5, 5)));
+        state.unmakeMove(undo);
+        assertFalse(state.isSquareEmpty(Position.of(6, 6)));
+        assertTrue(state.isSquareEmpty(Position.of(5, 5)));
+        assertEquals(Optional.of(3), state.getPieceIndexByPosition(Position.of(6, 6)));
+        state.makeMove(3, Direction.UP_LEFT);
+        state.move(0, Direction.DOWN_RIGHT);
+        assertEquals(Optional.of(0), state.getPieceIndexByPosition(Position.of(2, 2)));
+        assertTrue(state.isSquareEmpty(Position.of(1, 1)));
+        assertTrue(state.isSquareEmpty(Position.of(-1, 8)));
+        BoardState copy = state.clone();
+        copy.move(1, Direction.UP_LEFT);
+        assertEquals(Optional.of(1), state.getPieceIndexByPosition(Position.of(5, 1)));
+        assertEquals(Optional.empty(), copy.getPieceIndexByPosition(Position.of(5, 1)));
+        assertEquals(Optional.of(1), copy.getPieceIndexByPosition(Position.of(4, 0)));
+        state.unmakeMove(state.makeMove(1, Direction.UP_LEFT));
+        assertEquals(Optional.of(1), state.getPieceIndexByPosition(Position.of(5, 1)));
+        assertTrue(state.isSquareEmpty(Position.of(4, 0)));
     }
 
     @Test
     void testConstructor_invalid() {
         assertThrows(IllegalArgumentException.class, () -> new BoardState(
                     PieceType.FOX,
-                    new Piece(PieceType.FOX, new Position(1, 1)),
-                    new Piece(PieceType.DOG, new Position(0, 2)),
-                    new Piece(PieceType.DOG, new Position(7, 4)),
-                    new Piece(PieceType.DOG, new Position(5, 3)),
-                    new Piece(PieceType.DOG, new Position(2, 5)),
-                    new Piece(PieceType.DOG, new Position(6, 3)))
+                    new Piece(PieceType.FOX, Position.of(1, 1)),
+                    new Piece(PieceType.DOG, Position.of(0, 2)),
+                    new Piece(PieceType.DOG, Position.of(7, 4)),
+                    new Piece(PieceType.DOG, Position.of(5, 3)),
+                    new Piece(PieceType.DOG, Position.of(2, 5)),
+                    new Piece(PieceType.DOG, Position.of(6, 3)))
         );
         assertThrows(IllegalArgumentException.class, () -> new BoardState(
                     PieceType.DOG,
-                    new Piece(PieceType.FOX, new Position(1, 1)),
-                    new Piece(PieceType.DOG, new Position(0, 2)),
-                    new Piece(PieceType.DOG, new Position(7, 4)),
-                    new Piece(PieceType.DOG, new Position(5, 3)),
-                    new Piece(PieceType.DOG, new Position(2, 8))
+                    new Piece(PieceType.FOX, Position.of(1, 1)),
+                    new Piece(PieceType.DOG, Position.of(0, 2)),
+                    new Piece(PieceType.DOG, Position.of(7, 4)),
+                    new Piece(PieceType.DOG, Position.of(5, 3)),
+                    new Piece(PieceType.DOG, Position.of(2, 8))
         ));
         assertThrows(IllegalArgumentException.class, () -> new BoardState(
                     PieceType.FOX,
-                    new Piece(PieceType.FOX, new Position(6, 3)),
-                    new Piece(PieceType.DOG, new Position(4, 7)),
-                    new Piece(PieceType.DOG, new Position(2, 5)),
-                    new Piece(PieceType.DOG, new Position(5, 6)),
-                    new Piece(PieceType.DOG, new Position(4, 7))
+                    new Piece(PieceType.FOX, Position.of(6, 3)),
+                    new Piece(PieceType.DOG, Position.of(4, 7)),
+                    new Piece(PieceType.DOG, Position.of(2, 5)),
+                    new Piece(PieceType.DOG, Position.of(5, 6)),
+                    new Piece(PieceType.DOG, Position.of(4, 7))
         ));
         assertThrows(IllegalArgumentException.class, () -> new BoardState(
                     PieceType.DOG,
-                    new Piece(PieceType.DOG, new Position(6, 3)),
-                    new Piece(PieceType.DOG, new Position(4, 7)),
-                    new Piece(PieceType.DOG, new Position(2, 5)),
-                    new Piece(PieceType.DOG, new Position(5, 6)),
-                    new Piece(PieceType.DOG, new Position(4, 4))
+                    new Piece(PieceType.DOG, Position.of(6, 3)),
+                    new Piece(PieceType.DOG, Position.of(4, 7)),
+                    new Piece(PieceType.DOG, Position.of(2, 5)),
+                    new Piece(PieceType.DOG, Position.of(5, 6)),
+                    new Piece(PieceType.DOG, Position.of(4, 4))
         ));
     }
 
@@ -194,11 +252,11 @@ class BoardStateTest {
         assertTrue(state3.equals(state3.clone()));
         assertTrue(state3.equals(new BoardState(
                 PieceType.DOG,
-                new Piece(PieceType.FOX, new Position(6, 4)),
-                new Piece(PieceType.DOG, new Position(5, 1)),
-                new Piece(PieceType.DOG, new Position(4, 2)),
-                new Piece(PieceType.DOG, new Position(5, 3)),
-                new Piece(PieceType.DOG, new Position(4, 4)))));
+                new Piece(PieceType.FOX, Position.of(6, 4)),
+                new Piece(PieceType.DOG, Position.of(5, 1)),
+                new Piece(PieceType.DOG, Position.of(4, 2)),
+                new Piece(PieceType.DOG, Position.of(5, 3)),
+                new Piece(PieceType.DOG, Position.of(4, 4)))));
         assertFalse(state3.equals(state4));
         assertFalse(state3.equals(new BoardState()));
         assertFalse(state2.equals(Integer.MAX_VALUE));
@@ -210,6 +268,47 @@ class BoardStateTest {
         assertFalse(state2.hashCode() == state3.hashCode());
     }
 
+    @Test
+    void getZobristKey() {
+        BoardState first = state1.clone();
+        first.move(1, Direction.UP_RIGHT);
+        first.move(0, Direction.DOWN_LEFT);
+        first.move(4, Direction.UP_LEFT);
+        BoardState second = state1.clone();
+        second.move(4, Direction.UP_LEFT);
+        second.move(0, Direction.DOWN_LEFT);
+        second.move(1, Direction.UP_RIGHT);
+        assertEquals(first, second);
+        assertEquals(first.getZobristKey(), second.getZobristKey());
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(Zobrist.hash(first), first.getZobristKey());
+        assertEquals(1, new HashSet<>(List.of(first, second)).size());
+        assertNotEquals(state1.getZobristKey(), first.getZobristKey());
+        assertNotEquals(state1.getZobristKey(), new BoardState(PieceType.FOX).getZobristKey());
+        assertEquals(new BitboardState(state2).getZobristKey(), state2.getZobristKey());
+    }
+
+    @Test
+    void getMirroredZobristKey() {
+        BoardState copy = state1.clone();
+        int undo = copy.makeMove(1, Direction.UP_RIGHT);
+        assertEquals(Zobrist.mirroredHash(copy), copy.getMirroredZobristKey());
+        assertEquals(copy.mirror().getZobristKey(), copy.getMirroredZobristKey());
+        assertEquals(new BitboardState(copy).getMirroredZobristKey(), copy.getMirroredZobristKey());
+        copy.unmakeMove(undo);
+        assertEquals(state1.getMirroredZobristKey(), copy.getMirroredZobristKey());
+        assertEquals(state1.getCanonicalKey(), state1.mirror().getCanonicalKey());
+    }
+
+    @Test
+    void mirror() {
+        BoardState mirrored = state1.mirror();
+        assertEquals(Position.of(0, 5), mirrored.getPiece(0).getPosition());
+        assertEquals(Position.of(7, 6), mirrored.getPiece(1).getPosition());
+        assertEquals(state1.getPieceTypeToMove(), mirrored.getPieceTypeToMove());
+        assertEquals(state1, mirrored.mirror());
+    }
+
     @Test
     void testToString() {
         assertEquals("{DOG, [FOX: (1,1)], [DOG: (5,1)], [DOG: (4,2)], [DOG: (6,6)], [DOG: (4,6)]}",
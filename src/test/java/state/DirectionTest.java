@@ -18,4 +18,33 @@ class DirectionTest {
     void of_shouldThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> Direction.of(1, 0));
     }
+
+    @Test
+    void of_shouldThrowIllegalArgumentExceptionForLongMoves() {
+        assertThrows(IllegalArgumentException.class, () -> Direction.of(2, 2));
+        assertThrows(IllegalArgumentException.class, () -> Direction.of(0, 0));
+    }
+
+    @Test
+    void getTargetSquare() {
+        assertEquals(Move.square(6, 0), Direction.UP_LEFT.getTargetSquare(Move.square(7, 1)));
+        assertEquals(Move.square(6, 2), Direction.UP_RIGHT.getTargetSquare(Move.square(7, 1)));
+        assertEquals(Move.square(1, 1), Direction.DOWN_LEFT.getTargetSquare(Move.square(0, 2)));
+        assertEquals(Move.square(1, 3), Direction.DOWN_RIGHT.getTargetSquare(Move.square(0, 2)));
+        assertEquals(Direction.NO_SQUARE, Direction.UP_LEFT.getTargetSquare(Move.square(0, 2)));
+        assertEquals(Direction.NO_SQUARE, Direction.UP_RIGHT.getTargetSquare(Move.square(4, 7)));
+        assertEquals(Direction.NO_SQUARE, Direction.DOWN_LEFT.getTargetSquare(Move.square(7, 1)));
+        assertEquals(Direction.NO_SQUARE, Direction.DOWN_RIGHT.getTargetSquare(Move.square(3, 7)));
+    }
+
+    @Test
+    void between() {
+        assertSame(Direction.UP_LEFT, Direction.between(Move.square(7, 1), Move.square(6, 0)));
+        assertSame(Direction.UP_RIGHT, Direction.between(Move.square(7, 1), Move.square(6, 2)));
+        assertSame(Direction.DOWN_LEFT, Direction.between(Move.square(0, 2), Move.square(1, 1)));
+        assertSame(Direction.DOWN_RIGHT, Direction.between(Move.square(0, 2), Move.square(1, 3)));
+        assertNull(Direction.between(Move.square(0, 2), Move.square(0, 2)));
+        assertNull(Direction.between(Move.square(0, 2), Move.square(2, 4)));
+        assertNull(Direction.between(Move.square(0, 7), Move.square(1, 0)));
+    }
 }
\ No newline at end of file
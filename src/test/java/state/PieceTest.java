@@ -17,9 +17,9 @@ class PieceTest {
 
     static Stream<Piece> pieceProvider() {
         return Stream.of(
-                new Piece(PieceType.FOX, new Position(2, 1)),
-                new Piece(PieceType.DOG, new Position(3, 5)),
-                new Piece(PieceType.FOX, new Position(5, 2))
+                new Piece(PieceType.FOX, Position.of(2, 1)),
+                new Piece(PieceType.DOG, Position.of(3, 5)),
+                new Piece(PieceType.FOX, Position.of(5, 2))
         );
     }
 
@@ -28,7 +28,7 @@ class PieceTest {
     void testEquals(Piece piece) {
         assertTrue(piece.equals(piece));
         assertTrue(piece.equals(piece.clone()));
-        assertFalse(piece.equals(new Piece(PieceType.DOG, new Position(Integer.MIN_VALUE, Integer.MAX_VALUE))));
+        assertFalse(piece.equals(new Piece(PieceType.DOG, Position.of(Integer.MIN_VALUE, Integer.MAX_VALUE))));
         assertFalse(piece.equals(null));
         assertFalse(piece.equals("Hello World!"));
     }
@@ -42,7 +42,7 @@ class PieceTest {
 
     @Test
     void testToString() {
-        piece = new Piece(PieceType.FOX, new Position(5, 3));
+        piece = new Piece(PieceType.FOX, Position.of(5, 3));
         assertEquals("FOX: (5,3)", piece.toString());
     }
 
@@ -52,7 +52,7 @@ class PieceTest {
         Piece copy = piece.clone();
         assertSame(piece.getPieceType(), copy.getPieceType());
         assertEquals(piece.getPosition(), copy.getPosition());
-        assertNotSame(piece.getPosition(), copy.getPosition());
+        assertSame(piece.getPosition(), copy.getPosition());
         assertEquals(piece, copy);
         assertNotSame(piece, copy);
     }
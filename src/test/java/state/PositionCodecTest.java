@@ -0,0 +1,104 @@
+package state;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionCodecTest {
+
+    BoardState state1 = new BoardState(); // original initial state
+
+    BoardState state2 = new BoardState( // a non-final state with the fox to move
+            PieceType.FOX,
+            new Piece(PieceType.DOG, Position.of(6, 6)),
+            new Piece(PieceType.FOX, Position.of(1, 1)),
+            new Piece(PieceType.DOG, Position.of(5, 1)),
+            new Piece(PieceType.DOG, Position.of(4, 2)),
+            new Piece(PieceType.DOG, Position.of(4, 6))
+    );
+
+    @Test
+    void encode() {
+        int code = PositionCodec.encode(state1);
+        assertTrue(code >= 0);
+        assertEquals(Move.square(0, 2), PositionCodec.fox(code));
+        assertEquals(new BitboardState(state1).getDogs(), PositionCodec.dogs(code));
+        assertFalse(PositionCodec.isFoxToMove(code));
+        assertEquals(code, PositionCodec.encode(new BitboardState(state1)));
+        assertTrue(PositionCodec.isFoxToMove(PositionCodec.encode(state2)));
+        assertNotEquals(code, PositionCodec.encode(new BoardState(PieceType.FOX)));
+    }
+
+    @Test
+    void encode_shouldThrowIllegalArgumentException() {
+        long dogs = new BitboardState(state1).getDogs();
+        assertThrows(IllegalArgumentException.class,
+                () -> PositionCodec.encode(dogs | 1L << Move.square(4, 4), Move.square(0, 2), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> PositionCodec.encode(dogs & dogs - 1, Move.square(0, 2), false));
+        assertThrows(IllegalArgumentException.class, () -> PositionCodec.encode(dogs, 64, false));
+        assertThrows(IllegalArgumentException.class, () -> PositionCodec.encode(dogs, -1, false));
+    }
+
+    @Test
+    void decode() {
+        assertEquals(new BitboardState(state1), PositionCodec.decode(PositionCodec.encode(state1)));
+        assertEquals(new BitboardState(state2), PositionCodec.decode(PositionCodec.encode(state2)));
+        BoardState decoded = PositionCodec.decodeBoardState(PositionCodec.encode(state2));
+        assertEquals(PieceType.FOX, decoded.getPiece(0).getPieceType());
+        assertEquals(state2.getZobristKey(), decoded.getZobristKey());
+    }
+
+    @Test
+    void decode_shouldThrowIllegalArgumentException() {
+        int code = PositionCodec.encode(state1);
+        assertThrows(IllegalArgumentException.class, () -> PositionCodec.decode(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PositionCodec.decode(code & ~0x3F | Move.square(7, 1))); // the fox on a dog
+        assertThrows(IllegalArgumentException.class,
+                () -> PositionCodec.decode(code & ~(0x3F << 12) | (Move.square(7, 1) << 12))); // two dogs on a square
+    }
+
+    @Test
+    void encodeAll() {
+        GameState[] states = randomStates(new Random(42), 101);
+        int[] codes = PositionCodec.encodeAll(states);
+        BitboardState[] decoded = PositionCodec.decodeAll(codes);
+        assertEquals(states.length, decoded.length);
+        for (int i = 0; i < states.length; i++) {
+            assertEquals(states[i], decoded[i]);
+        }
+    }
+
+    @Test
+    void encodePacked() {
+        GameState[] states = randomStates(new Random(7), 101);
+        long[] packed = PositionCodec.encodePacked(states);
+        assertEquals(51, packed.length);
+        BitboardState[] decoded = PositionCodec.decodePacked(packed, states.length);
+        for (int i = 0; i < states.length; i++) {
+            assertEquals(states[i], decoded[i]);
+        }
+        assertArrayEquals(PositionCodec.encodeAll(states), PositionCodec.unpack(packed, states.length));
+        assertThrows(IllegalArgumentException.class, () -> PositionCodec.unpack(packed, states.length + 2));
+        assertEquals(0, PositionCodec.pack(new int[0]).length);
+    }
+
+    private static GameState[] randomStates(Random random, int count) {
+        GameState[] states = new GameState[count];
+        int[] moves = new int[BitboardState.MAX_MOVES];
+        BitboardState state = new BitboardState();
+        for (int i = 0; i < count; i++) {
+            int moveCount = state.isGoal() ? 0 : state.generateMoves(moves);
+            if (moveCount == 0) {
+                state = new BitboardState();
+            } else {
+                state.makeMove(moves[random.nextInt(moveCount)]);
+            }
+            states[i] = state.clone();
+        }
+        return states;
+    }
+}
@@ -22,10 +22,10 @@ class PositionTest {
 
     static Stream<Position> positionProvider() {
         return Stream.of(
-                new Position(3,5),
-                new Position(1,2),
-                new Position(6,4),
-                new Position(4,3)
+                Position.of(3,5),
+                Position.of(1,2),
+                Position.of(6,4),
+                Position.of(4,3)
         );
     }
 
@@ -70,86 +70,34 @@ class PositionTest {
                 position.getDownRight());
     }
 
-    @ParameterizedTest
-    @MethodSource("positionProvider")
-    void setTo_up_left(Position position) {
-        Position positionCopy = position.clone();
-        positionCopy.setTo(Direction.UP_LEFT);
-        assertPosition(position.row() - 1, position.col() - 1,
-                positionCopy);
-    }
-
-    @ParameterizedTest
-    @MethodSource("positionProvider")
-    void setTo_up_right(Position position) {
-        Position positionCopy = position.clone();
-        positionCopy.setTo(Direction.UP_RIGHT);
-        assertPosition(position.row() - 1, position.col() + 1,
-                positionCopy);
-    }
-
-    @ParameterizedTest
-    @MethodSource("positionProvider")
-    void setTo_down_left(Position position) {
-        Position positionCopy = position.clone();
-        positionCopy.setTo(Direction.DOWN_LEFT);
-        assertPosition(position.row() + 1, position.col() - 1,
-                positionCopy);
-    }
-
-    @ParameterizedTest
-    @MethodSource("positionProvider")
-    void setTo_down_right(Position position) {
-        Position positionCopy = position.clone();
-        positionCopy.setTo(Direction.DOWN_RIGHT);
-        assertPosition(position.row() + 1, position.col() + 1,
-                positionCopy);
-    }
-
-    @ParameterizedTest
-    @MethodSource("positionProvider")
-    void setUpLeft(Position position) {
-        Position positionCopy = position.clone();
-        positionCopy.setUpLeft();
-        assertPosition(position.row() - 1, position.col() - 1,
-                positionCopy);
-    }
-
-    @ParameterizedTest
-    @MethodSource("positionProvider")
-    void setUpRight(Position position) {
-        Position positionCopy = position.clone();
-        positionCopy.setUpRight();
-        assertPosition(position.row() - 1, position.col() + 1,
-                positionCopy);
-    }
-
-    @ParameterizedTest
-    @MethodSource("positionProvider")
-    void setDownLeft(Position position) {
-        Position positionCopy = position.clone();
-        positionCopy.setDownLeft();
-        assertPosition(position.row() + 1, position.col() - 1,
-                positionCopy);
+    @Test
+    void of() {
+        assertSame(Position.of(3, 5), Position.of(3, 5));
+        assertSame(Position.of(0, 0), Position.of(1, 1).getUpLeft());
+        assertSame(Position.of(-1, 8), Position.of(0, 7).getUpRight());
+        assertSame(Position.of(8, -1), Position.of(7, 0).getDownLeft());
+        assertPosition(20, -30, Position.of(20, -30));
+        assertEquals(Position.of(20, -30), Position.of(20, -30));
     }
 
     @ParameterizedTest
     @MethodSource("positionProvider")
-    void setDownRight(Position position) {
-        Position positionCopy = position.clone();
-        positionCopy.setDownRight();
-        assertPosition(position.row() + 1, position.col() + 1,
-                positionCopy);
+    void getPositionAt_returnsSharedPositions(Position position) {
+        for (var direction : Direction.values()) {
+            assertSame(position.getPositionAt(direction), position.getPositionAt(direction));
+            assertSame(Position.of(position.row() + direction.getRowChange(),
+                    position.col() + direction.getColChange()), position.getPositionAt(direction));
+        }
     }
 
     @Test
     void testEquals() {
-        position = new Position(3, 8);
+        position = Position.of(3, 8);
         assertTrue(position.equals(position));
-        assertTrue(position.equals(new Position(3, 8)));
+        assertTrue(position.equals(Position.of(3, 8)));
         assertTrue(position.equals(position.clone()));
-        assertFalse(position.equals(new Position(3, 7)));
-        assertFalse(position.equals(new Position(8, 8)));
+        assertFalse(position.equals(Position.of(3, 7)));
+        assertFalse(position.equals(Position.of(8, 8)));
         assertFalse(position.equals(new ArrayList<String>()));
     }
 
@@ -157,7 +105,7 @@ class PositionTest {
     @MethodSource("positionProvider")
     void testHashCode(Position position) {
         assertTrue(position.hashCode() == position.hashCode());
-        assertTrue(position.hashCode() == new Position(
+        assertTrue(position.hashCode() == Position.of(
                 position.row(), position.col()).hashCode());
     }
 
@@ -169,7 +117,7 @@ class PositionTest {
         assertEquals(position, positionCopy);
         assertTrue(position.row() == positionCopy.row());
         assertTrue(position.col() == positionCopy.col());
-        assertNotSame(position, positionCopy);
+        assertSame(position, positionCopy);
     }
 
     @ParameterizedTest